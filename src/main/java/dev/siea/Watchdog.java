@@ -1,18 +1,32 @@
 package dev.siea;
 
 
+import dev.siea.commands.AdminCommand;
 import dev.siea.commands.CheckCommand;
 import dev.siea.commands.CommandManager;
 import dev.siea.commands.HelpCommand;
 import dev.siea.commands.ReportCommand;
-import dev.siea.config.ConfigUtil;
+import dev.siea.config.ConfigWatcher;
+import dev.siea.config.WatchdogConfig;
 import dev.siea.database.MySQLWrapper;
+import dev.siea.database.ReportExporter;
+import dev.siea.database.ReportImporter;
+import dev.siea.database.ReportRetentionJob;
+import dev.siea.database.models.ImportResult;
 import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.Activity;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
 import net.dv8tion.jda.api.sharding.ShardManager;
-import org.simpleyaml.configuration.ConfigurationSection;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * The Watchdog class is responsible for initializing and managing the Discord bot and database connection.
@@ -21,14 +35,16 @@ public class Watchdog {
 
     /**
      * Constructs a Watchdog instance, initializing the Discord bot and the MySQL database connection using configurations
-     * from the config.yml file.
+     * from the config.yml file. Changes to the config.yml file are applied while the bot is running, except for the
+     * token and the database connection, which require a restart.
      */
     public Watchdog(){
-        ConfigUtil configUtil = new ConfigUtil("./config.yml");
-        configUtil.save();
-        ConfigurationSection config = configUtil.getConfig();
+        ConfigWatcher config = loadConfig();
+        if (config == null) {
+            return;
+        }
 
-        String token = config.getString("token");
+        String token = config.get().token();
         DefaultShardManagerBuilder builder = DefaultShardManagerBuilder.createDefault(token).enableIntents(GatewayIntent.GUILD_MEMBERS);
         builder.setStatus(OnlineStatus.ONLINE);
         builder.setActivity(Activity.watching("You!"));
@@ -45,25 +61,160 @@ public class Watchdog {
         }
         System.out.println("[Watchdog] Discord bot enabled");
 
-        String url = "jdbc:mysql://" + config.getString("sql.ip") + "/" + config.getString("sql.name");
-        String user = config.getString("sql.user");
-        String pass = config.getString("sql.password");
-        MySQLWrapper databaseWrapper = new MySQLWrapper(url, user, pass);
+        MySQLWrapper databaseWrapper = connectDatabase(config);
+        WatchdogConfig.ReplicaSettings replica = config.get().replica();
+        if (replica.enabled()) {
+            databaseWrapper.connectReplica(replica.sql().url(), replica.sql().user(), replica.sql().password());
+        }
 
         CommandManager commandManager = new CommandManager();
 
         shardManager.addEventListener(commandManager);
-        commandManager.registerCommand(new CheckCommand(databaseWrapper));
-        commandManager.registerCommand(new ReportCommand(databaseWrapper));
+        commandManager.registerCommand(new CheckCommand(databaseWrapper, config));
+        commandManager.registerCommand(new ReportCommand(databaseWrapper, config));
         commandManager.registerCommand(new HelpCommand());
+        commandManager.registerCommand(new AdminCommand(databaseWrapper, config));
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Watchdog-Retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        new ReportRetentionJob(databaseWrapper, config).start(scheduler);
+
+        ScheduledExecutorService spoolScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Watchdog-Spool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        databaseWrapper.startSpoolReplay(spoolScheduler);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(databaseWrapper.metrics(), new ObjectName("dev.siea.watchdog:type=Storage"));
+        } catch (JMException e) {
+            System.out.println("[Watchdog] Unable to register storage metrics: " + e.getMessage());
+        }
+
+        config.addListener((previous, current) -> {
+            if (!previous.pool().equals(current.pool())) {
+                databaseWrapper.applyPoolSettings(current.pool());
+            }
+            if (!previous.token().equals(current.token()) || !previous.sql().equals(current.sql())
+                    || previous.replica().enabled() != current.replica().enabled() || !previous.replica().sql().equals(current.replica().sql())
+                    || !previous.degraded().spoolFile().equals(current.degraded().spoolFile())) {
+                System.out.println("[Watchdog] Token, database and spool file changes take effect after a restart.");
+            }
+        });
+        try {
+            config.start();
+        } catch (IOException e) {
+            System.out.println("[Watchdog] Unable to watch config.yml for changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the config.yml file, creating it from the bundled default if it does not exist yet.
+     *
+     * @return the ConfigWatcher holding the loaded configuration, or null if the configuration is invalid.
+     */
+    private static ConfigWatcher loadConfig() {
+        try {
+            return new ConfigWatcher(Path.of("./config.yml"));
+        } catch (IllegalArgumentException e) {
+            System.out.println("[Watchdog] " + e.getMessage() + ". Disabling...");
+            return null;
+        }
+    }
+
+    /**
+     * Connects to the MySQL database configured in the "sql" section.
+     *
+     * @param config the loaded configuration.
+     * @return the connected MySQLWrapper.
+     */
+    private static MySQLWrapper connectDatabase(ConfigWatcher config) {
+        WatchdogConfig.SqlSettings sql = config.get().sql();
+        return new MySQLWrapper(sql.url(), sql.user(), sql.password(), config);
+    }
+
+    /**
+     * Exports or imports reports from the command line without starting the Discord bot.
+     *
+     * @param args the command-line arguments, either "export &lt;file&gt;" or "import &lt;file&gt;".
+     * @return the process exit code.
+     */
+    private static int runTransfer(String[] args) {
+        if (args.length != 2 || !(args[0].equals("export") || args[0].equals("import"))) {
+            System.out.println("Usage: java -jar Watchdog.jar [export|import] <file(.ndjson|.csv)[.gz]> | migrate");
+            return 2;
+        }
+
+        ConfigWatcher config = loadConfig();
+        if (config == null) {
+            return 1;
+        }
+        MySQLWrapper databaseWrapper = connectDatabase(config);
+        int batchSize = config.get().transfer().batchSize();
+        Path file = Path.of(args[1]);
+        try {
+            if (args[0].equals("export")) {
+                long exported = new ReportExporter(databaseWrapper, batchSize).export(file);
+                System.out.println("[Watchdog] Exported " + exported + " reports to " + file);
+            } else {
+                ImportResult result = new ReportImporter(databaseWrapper, batchSize).importReports(file);
+                System.out.println("[Watchdog] Imported " + result.inserted() + " of " + result.read() + " reports from " + file +
+                        " (" + result.duplicates() + " duplicates, " + result.invalid() + " invalid)");
+            }
+            return 0;
+        } catch (Exception e) {
+            System.out.println("[Watchdog] Report " + args[0] + " failed: " + e.getMessage());
+            return 1;
+        } finally {
+            databaseWrapper.shutdown();
+        }
+    }
+
+    /**
+     * Converts an existing, unpartitioned "reports" table to monthly partitions from the command line.
+     * This copies the whole table and blocks report writes while it runs, so it should be run while the bot is stopped.
+     *
+     * @return the process exit code.
+     */
+    private static int runMigration() {
+        ConfigWatcher config = loadConfig();
+        if (config == null) {
+            return 1;
+        }
+        MySQLWrapper databaseWrapper = connectDatabase(config);
+        try {
+            System.out.println("[Watchdog] Migrating reports table to monthly partitions...");
+            if (databaseWrapper.migrateReportsTable()) {
+                System.out.println("[Watchdog] Migrated reports table to monthly partitions.");
+            } else {
+                System.out.println("[Watchdog] The reports table is already partitioned or the database does not support partitioning.");
+            }
+            return 0;
+        } catch (SQLException e) {
+            System.out.println("[Watchdog] Migrating reports table failed: " + e.getMessage());
+            return 1;
+        } finally {
+            databaseWrapper.shutdown();
+        }
     }
 
     /**
      * The main method serves as the entry point for the Watchdog application.
+     * Without arguments the Discord bot is started, "export &lt;file&gt;" and "import &lt;file&gt;" transfer reports
+     * and "migrate" converts an existing reports table to monthly partitions instead.
      *
-     * @param args command-line arguments (not used).
+     * @param args command-line arguments.
      */
     public static void main(String[] args) {
+        if (args.length == 1 && args[0].equals("migrate")) {
+            System.exit(runMigration());
+        }
+        if (args.length > 0) {
+            System.exit(runTransfer(args));
+        }
         Watchdog instance = new Watchdog();
     }
 }
@@ -0,0 +1,141 @@
+package dev.siea.commands;
+
+import dev.siea.config.WatchdogConfig;
+import dev.siea.database.MySQLWrapper;
+import dev.siea.database.ReportExporter;
+import dev.siea.database.ReportImporter;
+import dev.siea.database.StorageMetricsMXBean;
+import dev.siea.database.models.ImportResult;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Color;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The AdminCommand class handles the execution of the "admin" slash command.
+ * It lets the bot administrators listed in the config export and import reports to and from files in the transfer
+ * directory on the bot's host, and shows the health of the database connection. Transfers run in the background,
+ * one at a time.
+ */
+public class AdminCommand implements WatchdogCommand {
+    private final MySQLWrapper databaseWrapper;
+    private final Supplier<WatchdogConfig> config;
+    private final AtomicBoolean transferRunning = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Watchdog-Transfer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs an AdminCommand.
+     *
+     * @param databaseWrapper the MySQLWrapper instance used for database operations
+     * @param config          the supplier of the current configuration, providing the admins and transfer settings
+     */
+    public AdminCommand(MySQLWrapper databaseWrapper, Supplier<WatchdogConfig> config) {
+        this.databaseWrapper = databaseWrapper;
+        this.config = config;
+    }
+
+    /**
+     * Returns the name of the command, which is "admin".
+     *
+     * @return the name of the command
+     */
+    @Override
+    public String getName() {
+        return "admin";
+    }
+
+    /**
+     * Executes the "admin" command when a slash command interaction is received.
+     * It starts the requested export or import in the background and reports the result once it has finished.
+     *
+     * @param event the SlashCommandInteractionEvent containing information about the command interaction
+     */
+    @Override
+    public void execute(@NotNull SlashCommandInteractionEvent event) {
+        WatchdogConfig snapshot = config.get();
+        if (!snapshot.admins().contains(event.getUser().getId())) {
+            reply(event, "Admin Command Failed", "You are not a Watchdog administrator.", Color.RED);
+            return;
+        }
+
+        String subcommand = event.getSubcommandName();
+        if ("status".equals(subcommand)) {
+            StorageMetricsMXBean metrics = databaseWrapper.metrics();
+            EmbedBuilder embed = new EmbedBuilder()
+                    .setTitle("Database Status")
+                    .setColor("CLOSED".equals(metrics.getCircuitBreakerState()) ? Color.GREEN : Color.ORANGE)
+                    .addField("Circuit Breaker", metrics.getCircuitBreakerState(), true)
+                    .addField("Trips", String.valueOf(metrics.getCircuitBreakerTrips()), true)
+                    .addField("Rejected Calls", String.valueOf(metrics.getRejectedCalls()), true)
+                    .addField("Spooled Reports", String.valueOf(metrics.getSpoolDepth()), true)
+                    .addField("Replayed Reports", String.valueOf(metrics.getReplayedReports()), true)
+                    .addField("Stale Checks", String.valueOf(metrics.getStaleLookups()), true);
+            event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+            return;
+        }
+        Path transferDirectory = snapshot.transfer().directory().toAbsolutePath().normalize();
+        int batchSize = snapshot.transfer().batchSize();
+        Path file = transferDirectory.resolve(Objects.requireNonNull(event.getOption("file")).getAsString()).normalize();
+        if (!file.startsWith(transferDirectory) || file.equals(transferDirectory)) {
+            reply(event, "Admin Command Failed", "The file must be inside the transfer directory.", Color.RED);
+            return;
+        }
+        if ("import".equals(subcommand) && !Files.isRegularFile(file)) {
+            reply(event, "Import Failed", "The file " + file.getFileName() + " does not exist.", Color.RED);
+            return;
+        }
+        if (!transferRunning.compareAndSet(false, true)) {
+            reply(event, "Admin Command Failed", "Another export or import is still running.", Color.RED);
+            return;
+        }
+
+        event.deferReply(true).queue();
+        executor.execute(() -> {
+            EmbedBuilder embed = new EmbedBuilder().setTimestamp(event.getInteraction().getTimeCreated());
+            try {
+                if ("export".equals(subcommand)) {
+                    Files.createDirectories(transferDirectory);
+                    long exported = new ReportExporter(databaseWrapper, batchSize).export(file);
+                    embed.setTitle("Export Finished")
+                            .setDescription("Exported " + exported + " reports to " + file.getFileName() + ".")
+                            .setColor(Color.GREEN);
+                } else {
+                    ImportResult result = new ReportImporter(databaseWrapper, batchSize).importReports(file);
+                    embed.setTitle("Import Finished")
+                            .setDescription("Imported " + result.inserted() + " of " + result.read() + " reports from " + file.getFileName() + ".")
+                            .addField("Duplicates", String.valueOf(result.duplicates()), true)
+                            .addField("Invalid", String.valueOf(result.invalid()), true)
+                            .setColor(Color.GREEN);
+                }
+            } catch (Exception e) {
+                System.out.println("[Watchdog] Report " + subcommand + " failed: " + e.getMessage());
+                embed.setTitle("Admin Command Failed")
+                        .setDescription("The " + subcommand + " failed: " + e.getMessage())
+                        .setColor(Color.RED);
+            } finally {
+                transferRunning.set(false);
+            }
+            event.getHook().sendMessageEmbeds(embed.build()).queue();
+        });
+    }
+
+    private void reply(SlashCommandInteractionEvent event, String title, String description, Color color) {
+        EmbedBuilder embed = new EmbedBuilder()
+                .setTitle(title)
+                .setDescription(description)
+                .setColor(color);
+        event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+    }
+}
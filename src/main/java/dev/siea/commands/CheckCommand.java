@@ -1,16 +1,18 @@
 package dev.siea.commands;
 
+import dev.siea.config.WatchdogConfig;
 import dev.siea.database.MySQLWrapper;
 import dev.siea.database.models.ReportType;
 import dev.siea.database.models.WatchDogUser;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.utils.TimeFormat;
 import org.jetbrains.annotations.NotNull;
 import java.awt.Color;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * The CheckCommand class handles the execution of the "check" slash command.
@@ -18,14 +20,17 @@ import java.util.Objects;
  */
 public class CheckCommand implements WatchdogCommand {
     private final MySQLWrapper databaseWrapper;
+    private final Supplier<WatchdogConfig> config;
 
     /**
      * Constructs a CheckCommand with the specified database wrapper.
      *
      * @param databaseWrapper the MySQLWrapper instance used for database operations
+     * @param config          the supplier of the current configuration
      */
-    public CheckCommand(MySQLWrapper databaseWrapper) {
+    public CheckCommand(MySQLWrapper databaseWrapper, Supplier<WatchdogConfig> config) {
         this.databaseWrapper = databaseWrapper;
+        this.config = config;
     }
 
     /**
@@ -41,13 +46,22 @@ public class CheckCommand implements WatchdogCommand {
     /**
      * Executes the "check" command when a slash command interaction is received.
      * It retrieves the report history for the specified user and sends an embedded response.
+     * While the database is unavailable, the last known report history is shown and marked as possibly out of date.
      *
      * @param event the SlashCommandInteractionEvent containing information about the command interaction
      */
     @Override
     public void execute(@NotNull SlashCommandInteractionEvent event) {
         User target = Objects.requireNonNull(event.getOption("user")).getAsUser();
-        WatchDogUser watchdogUser = databaseWrapper.getWatchdogUser(target.getId());
+        WatchDogUser watchdogUser = databaseWrapper.getWatchdogUser(target.getId(), event.getUser().getId());
+        if (watchdogUser == null) {
+            EmbedBuilder embed = new EmbedBuilder()
+                    .setTitle("Check Unavailable")
+                    .setDescription("Watchdog can't reach its database right now. Please try again in a few minutes.")
+                    .setColor(Color.ORANGE);
+            event.replyEmbeds(embed.build()).queue();
+            return;
+        }
 
         EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("User Report History")
@@ -55,31 +69,31 @@ public class CheckCommand implements WatchdogCommand {
                 .setAuthor(target.getAsTag(), null, target.getEffectiveAvatarUrl())
                 .setTimestamp(event.getInteraction().getTimeCreated());
 
-        int reportCount = watchdogUser.reports().size();
+        int reportCount = watchdogUser.reportCount();
+        int cautionThreshold = config.get().check().cautionThreshold();
         if (reportCount == 0) {
             embed.setDescription(target.getAsMention() + " has never been reported using Watchdog.")
                     .setColor(Color.GREEN);
-        } else if (reportCount < 10) {
+        } else if (reportCount < cautionThreshold) {
             embed.setDescription(target.getAsMention() + " has been previously reported using Watchdog.")
                     .setColor(Color.YELLOW);
         } else {
-            embed.setDescription(target.getAsMention() + " has been reported more than 10 times using Watchdog. Please exercise caution.")
+            embed.setDescription(target.getAsMention() + " has been reported at least " + cautionThreshold + " times using Watchdog. Please exercise caution.")
                     .setColor(Color.RED);
         }
 
-        if (!watchdogUser.reports().isEmpty()) {
-            HashMap<String, Integer> reportsCount = new HashMap<>();
-            for (Map.Entry<String, ReportType> entry : watchdogUser.reports().entrySet()) {
-                reportsCount.put(entry.getValue().toString(), reportsCount.getOrDefault(entry.getValue().toString(), 0) + 1);
-            }
-
+        if (reportCount > 0) {
             StringBuilder reportDetails = new StringBuilder();
-            for (Map.Entry<String, Integer> entry : reportsCount.entrySet()) {
-                reportDetails.append(entry.getValue()).append("x ").append(entry.getKey().replaceAll("_", " ")).append("\n");
+            for (Map.Entry<ReportType, Integer> entry : watchdogUser.reportCountsByType().entrySet()) {
+                reportDetails.append(entry.getValue()).append("x ").append(entry.getKey().toString().replaceAll("_", " ")).append("\n");
             }
 
             embed.addField("Report Breakdown", reportDetails.toString(), false);
         }
+        if (watchdogUser.isStale()) {
+            embed.addField("Possibly Out of Date", "Watchdog can't reach its database right now. This is the report history as of " +
+                    TimeFormat.RELATIVE.format(watchdogUser.cachedAt()) + ".", false);
+        }
         embed.setFooter("Stay safe <3.");
         event.replyEmbeds(embed.build()).queue();
     }
@@ -1,13 +1,16 @@
 package dev.siea.commands;
 
+import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
 import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 
@@ -22,7 +25,7 @@ public class CommandManager extends ListenerAdapter {
 
     /**
      * Constructs a CommandManager instance and initializes the command data list with the available commands.
-     * Sets up commands for reporting a user, checking a user's report, and a help command.
+     * Sets up commands for reporting a user, checking a user's report, a help command and an admin command.
      */
     public CommandManager() {
         OptionData userOption = new OptionData(OptionType.USER, "user", "Select a member!", true);
@@ -41,10 +44,19 @@ public class CommandManager extends ListenerAdapter {
         CommandData checkCommand = Commands.slash("check", "Check a Users report")
                 .addOptions(userOption);
         CommandData helpCommand = Commands.slash("help", "Help Command");
+        CommandData adminCommand = Commands.slash("admin", "Watchdog administration")
+                .addSubcommands(
+                        new SubcommandData("export", "Export all reports to a file (.ndjson or .csv, optionally .gz)")
+                                .addOption(OptionType.STRING, "file", "Name of the file in the transfer directory", true),
+                        new SubcommandData("import", "Import reports from a file (.ndjson or .csv, optionally .gz)")
+                                .addOption(OptionType.STRING, "file", "Name of the file in the transfer directory", true),
+                        new SubcommandData("status", "Show the health of the database connection"))
+                .setDefaultPermissions(DefaultMemberPermissions.enabledFor(Permission.ADMINISTRATOR));
 
         commandDataList.add(reportCommand);
         commandDataList.add(checkCommand);
         commandDataList.add(helpCommand);
+        commandDataList.add(adminCommand);
     }
 
     /**
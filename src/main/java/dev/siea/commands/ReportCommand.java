@@ -1,5 +1,6 @@
 package dev.siea.commands;
 
+import dev.siea.config.WatchdogConfig;
 import dev.siea.database.MySQLWrapper;
 import dev.siea.database.models.ReportQuery;
 import dev.siea.database.models.ReportType;
@@ -10,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * The ReportCommand class handles the execution of the "report" slash command.
@@ -17,14 +19,17 @@ import java.util.Objects;
  */
 public class ReportCommand implements WatchdogCommand {
     private final MySQLWrapper databaseWrapper;
+    private final Supplier<WatchdogConfig> config;
 
     /**
      * Constructs a ReportCommand with the specified database wrapper.
      *
      * @param databaseWrapper the MySQLWrapper instance used for database operations
+     * @param config          the supplier of the current configuration
      */
-    public ReportCommand(MySQLWrapper databaseWrapper) {
+    public ReportCommand(MySQLWrapper databaseWrapper, Supplier<WatchdogConfig> config) {
         this.databaseWrapper = databaseWrapper;
+        this.config = config;
     }
 
     /**
@@ -85,6 +90,16 @@ public class ReportCommand implements WatchdogCommand {
                 event.replyEmbeds(embed.build()).queue();
                 break;
 
+            case 202:
+                embed.setTitle("Report Queued")
+                        .setDescription("Watchdog can't reach its database right now. Your report has been saved and will be submitted automatically once it is back.")
+                        .setColor(Color.ORANGE)
+                        .addField("Reported User", target.getAsMention(), true)
+                        .addField("Report Type", type.name().replaceAll("_", " "), true)
+                        .addField("Reporter", reporter.getAsMention(), true);
+                event.replyEmbeds(embed.build()).queue();
+                break;
+
             case 409:
                 embed.setTitle("Report Failed")
                         .setDescription("You have already reported this user for this reason.")
@@ -100,8 +115,9 @@ public class ReportCommand implements WatchdogCommand {
                 break;
 
             case 403:
+                WatchdogConfig.RateLimitSettings rateLimit = config.get().rateLimit();
                 embed.setTitle("Report Failed")
-                        .setDescription("You can't report more than 5 users in the last 24 hours.")
+                        .setDescription("You can't report more than " + rateLimit.maxReports() + " users in the last " + rateLimit.windowHours() + " hours.")
                         .setColor(Color.RED);
                 event.replyEmbeds(embed.build()).queue();
                 break;
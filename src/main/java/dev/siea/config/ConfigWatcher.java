@@ -0,0 +1,153 @@
+package dev.siea.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.simpleyaml.configuration.file.YamlConfiguration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The ConfigWatcher class holds the current {@link WatchdogConfig} snapshot and reloads it whenever the config file
+ * changes on disk. Reloaded snapshots are validated before they are swapped in atomically; an invalid file is
+ * reported and the previous snapshot stays active. Readers call {@link #get()}, which is a single volatile read.
+ */
+public class ConfigWatcher implements Supplier<WatchdogConfig>, Closeable {
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Path file;
+    private final AtomicReference<WatchdogConfig> current;
+    private final List<BiConsumer<WatchdogConfig, WatchdogConfig>> listeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
+
+    /**
+     * Constructs a ConfigWatcher and loads the initial snapshot. The file is created from the bundled default
+     * if it does not exist yet.
+     *
+     * @param file the config file to load and watch.
+     * @throws IllegalArgumentException if the initial configuration is invalid.
+     */
+    public ConfigWatcher(@NotNull Path file) {
+        this.file = file.toAbsolutePath().normalize();
+        ConfigUtil configUtil = new ConfigUtil(this.file.toString());
+        configUtil.save();
+        this.current = new AtomicReference<>(WatchdogConfig.load(configUtil.getConfig()));
+    }
+
+    /**
+     * Returns the current configuration snapshot.
+     *
+     * @return the current snapshot.
+     */
+    @Override
+    public WatchdogConfig get() {
+        return current.get();
+    }
+
+    /**
+     * Registers a listener that is called with the previous and the new snapshot after every successful reload.
+     *
+     * @param listener the listener to register.
+     */
+    public void addListener(@NotNull BiConsumer<WatchdogConfig, WatchdogConfig> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts watching the config file on a background thread.
+     *
+     * @throws IOException if the directory of the config file cannot be watched.
+     */
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread thread = new Thread(this::watch, "Watchdog-Config");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads the config file and swaps in the new snapshot if it is valid and differs from the current one.
+     * A missing file is not recreated from the bundled default, since editors briefly remove it while saving.
+     *
+     * @return true if a new snapshot has been applied.
+     */
+    public boolean reload() {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        WatchdogConfig loaded;
+        try {
+            loaded = WatchdogConfig.load(YamlConfiguration.loadConfiguration(file.toFile()));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[Watchdog] Ignoring config change: " + e.getMessage());
+            return false;
+        }
+
+        WatchdogConfig previous = current.getAndSet(loaded);
+        if (previous.equals(loaded)) {
+            return false;
+        }
+        for (BiConsumer<WatchdogConfig, WatchdogConfig> listener : listeners) {
+            try {
+                listener.accept(previous, loaded);
+            } catch (RuntimeException e) {
+                System.out.println("[Watchdog] Error while applying config change: " + e.getMessage());
+            }
+        }
+        System.out.println("[Watchdog] Reloaded config.yml");
+        return true;
+    }
+
+    /**
+     * Stops watching the config file.
+     *
+     * @throws IOException if the watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = pollChanged(key);
+
+                // Editors often write a file in several steps, wait until the events have settled
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= pollChanged(next);
+                }
+
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private boolean pollChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
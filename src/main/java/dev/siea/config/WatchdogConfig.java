@@ -0,0 +1,263 @@
+package dev.siea.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.simpleyaml.configuration.ConfigurationSection;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The WatchdogConfig record is an immutable, validated snapshot of the config.yml file.
+ * It is parsed once per load, so hot paths read plain fields instead of looking up YAML keys.
+ *
+ * @param token     the Discord bot token.
+ * @param sql       the database connection settings.
+ * @param replica   the read replica settings.
+ * @param pool      the connection pool settings.
+ * @param rateLimit the report rate limit settings.
+ * @param check     the settings of the "check" command.
+ * @param retention the report retention settings.
+ * @param transfer  the report export and import settings.
+ * @param breaker   the circuit breaker settings of the storage layer.
+ * @param degraded  the settings of the degraded mode while the database is unavailable.
+ * @param admins    the Discord user IDs of the bot administrators.
+ */
+public record WatchdogConfig(String token, SqlSettings sql, ReplicaSettings replica, PoolSettings pool, RateLimitSettings rateLimit,
+                             CheckSettings check, RetentionSettings retention, TransferSettings transfer, CircuitBreakerSettings breaker,
+                             DegradedSettings degraded, Set<String> admins) {
+
+    /**
+     * The SqlSettings record holds the database connection settings. Changing them requires a restart.
+     *
+     * @param ip       the host and optional port of the MySQL server.
+     * @param name     the name of the database.
+     * @param user     the database user.
+     * @param password the database password.
+     */
+    public record SqlSettings(String ip, String name, String user, String password) {
+
+        /**
+         * Builds the JDBC URL of the database.
+         *
+         * @return the JDBC URL.
+         */
+        public String url() {
+            return "jdbc:mysql://" + ip + "/" + name;
+        }
+    }
+
+    /**
+     * The ReplicaSettings record holds the settings of the optional read replica. Enabling, disabling or moving the
+     * replica requires a restart, the routing settings are applied while running.
+     *
+     * @param enabled               whether reads are sent to the replica.
+     * @param sql                   the replica connection settings; name, user and password default to those of the primary.
+     * @param maxLagSeconds         the replication lag in seconds above which reads fall back to the primary.
+     * @param readYourWritesSeconds the number of seconds a user's reads stay on the primary after they submitted a report.
+     * @param healthCheckSeconds    the number of seconds between two health checks of the replica.
+     * @param checkLag              whether the health check reads the replication lag; when disabled only connectivity is checked.
+     */
+    public record ReplicaSettings(boolean enabled, SqlSettings sql, int maxLagSeconds, int readYourWritesSeconds,
+                                  int healthCheckSeconds, boolean checkLag) {
+    }
+
+    /**
+     * The PoolSettings record holds the connection pool settings.
+     *
+     * @param maximumPoolSize     the maximum number of pooled connections.
+     * @param minimumIdle         the minimum number of idle connections kept in the pool.
+     * @param connectionTimeoutMs the time in milliseconds to wait for a connection from the pool.
+     */
+    public record PoolSettings(int maximumPoolSize, int minimumIdle, long connectionTimeoutMs) {
+    }
+
+    /**
+     * The RateLimitSettings record holds the limits on report submissions.
+     *
+     * @param maxReports  the maximum number of reports a user may submit within the window.
+     * @param windowHours the length of the window in hours.
+     */
+    public record RateLimitSettings(int maxReports, int windowHours) {
+    }
+
+    /**
+     * The CheckSettings record holds the settings of the "check" command.
+     *
+     * @param cautionThreshold the number of reports from which users are advised to exercise caution.
+     */
+    public record CheckSettings(int cautionThreshold) {
+    }
+
+    /**
+     * The RetentionSettings record holds the report retention settings.
+     *
+     * @param enabled          whether expired partitions are archived and dropped.
+     * @param months           the number of full months that are kept in the live table.
+     * @param archiveDirectory the directory archived partitions are written to.
+     * @param intervalHours    the number of hours between two retention runs.
+     * @param batchSize        the number of rows read per query while archiving.
+     * @param partitionsPerRun the maximum number of partitions dropped per run.
+     * @param futurePartitions the number of months ahead that should already have a partition.
+     */
+    public record RetentionSettings(boolean enabled, int months, Path archiveDirectory, int intervalHours,
+                                    int batchSize, int partitionsPerRun, int futurePartitions) {
+    }
+
+    /**
+     * The TransferSettings record holds the report export and import settings.
+     *
+     * @param directory the directory files of the "admin" command are resolved against.
+     * @param batchSize the number of reports read or inserted per batch.
+     */
+    public record TransferSettings(Path directory, int batchSize) {
+    }
+
+    /**
+     * The CircuitBreakerSettings record holds the settings of the circuit breaker around the database.
+     * The breaker opens when too many of the most recent calls failed or were slow.
+     *
+     * @param windowSize          the number of most recent calls that are evaluated.
+     * @param minimumCalls        the number of calls in the window required before the breaker may open.
+     * @param failureRatePercent  the percentage of failed calls at which the breaker opens.
+     * @param slowCallMs          the duration in milliseconds from which a call counts as slow.
+     * @param slowCallRatePercent the percentage of slow calls at which the breaker opens.
+     * @param openSeconds         the number of seconds the breaker stays open before a trial call is let through.
+     */
+    public record CircuitBreakerSettings(int windowSize, int minimumCalls, int failureRatePercent, long slowCallMs,
+                                         int slowCallRatePercent, int openSeconds) {
+    }
+
+    /**
+     * The DegradedSettings record holds the settings of the degraded mode while the database is unavailable.
+     *
+     * @param cacheSize             the number of user summaries kept to answer the "check" command.
+     * @param spoolFile             the file reports are spooled to until they can be submitted.
+     * @param spoolMaxSize          the maximum number of spooled reports.
+     * @param replayIntervalSeconds the number of seconds between two attempts to replay spooled reports.
+     */
+    public record DegradedSettings(int cacheSize, Path spoolFile, int spoolMaxSize, int replayIntervalSeconds) {
+    }
+
+    /**
+     * Parses and validates a configuration. Missing optional keys fall back to their defaults.
+     *
+     * @param config the loaded YAML configuration.
+     * @return the parsed snapshot.
+     * @throws IllegalArgumentException if the configuration is invalid, listing every problem found.
+     */
+    public static WatchdogConfig load(@NotNull ConfigurationSection config) {
+        List<String> errors = new ArrayList<>();
+
+        String token = required(config, "token", errors);
+
+        SqlSettings sql = new SqlSettings(
+                required(config, "sql.ip", errors),
+                required(config, "sql.name", errors),
+                required(config, "sql.user", errors),
+                config.getString("sql.password", ""));
+
+        boolean replicaEnabled = config.getBoolean("replica.enabled", false);
+        SqlSettings replicaSql = new SqlSettings(
+                config.getString("replica.ip", ""),
+                orDefault(config.getString("replica.name"), sql.name()),
+                orDefault(config.getString("replica.user"), sql.user()),
+                orDefault(config.getString("replica.password"), sql.password()));
+        if (replicaEnabled && replicaSql.ip().isBlank()) {
+            errors.add("replica.ip is missing");
+        }
+        ReplicaSettings replica = new ReplicaSettings(
+                replicaEnabled,
+                replicaSql,
+                atLeast(config, "replica.max-lag-seconds", 5, 0, errors),
+                atLeast(config, "replica.read-your-writes-seconds", 30, 0, errors),
+                positive(config, "replica.health-check-seconds", 5, errors),
+                config.getBoolean("replica.check-lag", true));
+
+        PoolSettings pool = new PoolSettings(
+                positive(config, "pool.maximum-pool-size", 10, errors),
+                atLeast(config, "pool.minimum-idle", 10, 0, errors),
+                atLeast(config, "pool.connection-timeout-ms", 30000, 250, errors));
+        if (pool.minimumIdle() > pool.maximumPoolSize()) {
+            errors.add("pool.minimum-idle must not be greater than pool.maximum-pool-size");
+        }
+
+        RateLimitSettings rateLimit = new RateLimitSettings(
+                positive(config, "rate-limit.max-reports", 5, errors),
+                positive(config, "rate-limit.window-hours", 24, errors));
+
+        CheckSettings check = new CheckSettings(positive(config, "check.caution-threshold", 10, errors));
+
+        RetentionSettings retention = new RetentionSettings(
+                config.getBoolean("retention.enabled", false),
+                positive(config, "retention.months", 12, errors),
+                Path.of(config.getString("retention.archive-directory", "./archive")),
+                positive(config, "retention.interval-hours", 24, errors),
+                positive(config, "retention.batch-size", 1000, errors),
+                positive(config, "retention.partitions-per-run", 1, errors),
+                positive(config, "retention.future-partitions", 3, errors));
+
+        TransferSettings transfer = new TransferSettings(
+                Path.of(config.getString("transfer.directory", "./transfers")),
+                positive(config, "transfer.batch-size", 1000, errors));
+
+        CircuitBreakerSettings breaker = new CircuitBreakerSettings(
+                positive(config, "circuit-breaker.window-size", 20, errors),
+                positive(config, "circuit-breaker.minimum-calls", 10, errors),
+                percent(config, "circuit-breaker.failure-rate-percent", 50, errors),
+                positive(config, "circuit-breaker.slow-call-ms", 2000, errors),
+                percent(config, "circuit-breaker.slow-call-rate-percent", 80, errors),
+                positive(config, "circuit-breaker.open-seconds", 30, errors));
+        if (breaker.minimumCalls() > breaker.windowSize()) {
+            errors.add("circuit-breaker.minimum-calls must not be greater than circuit-breaker.window-size");
+        }
+
+        DegradedSettings degraded = new DegradedSettings(
+                atLeast(config, "degraded.cache-size", 10000, 0, errors),
+                Path.of(config.getString("degraded.spool-file", "./spool/reports.ndjson")),
+                atLeast(config, "degraded.spool-max-size", 10000, 0, errors),
+                positive(config, "degraded.replay-interval-seconds", 10, errors));
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid config.yml: " + String.join(", ", errors));
+        }
+        return new WatchdogConfig(token, sql, replica, pool, rateLimit, check, retention, transfer, breaker, degraded, Set.copyOf(config.getStringList("admins")));
+    }
+
+    private static String required(ConfigurationSection config, String path, List<String> errors) {
+        String value = config.getString(path);
+        if (value == null || value.isBlank()) {
+            errors.add(path + " is missing");
+        }
+        return value;
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static int positive(ConfigurationSection config, String path, int defaultValue, List<String> errors) {
+        return atLeast(config, path, defaultValue, 1, errors);
+    }
+
+    private static int percent(ConfigurationSection config, String path, int defaultValue, List<String> errors) {
+        int value = positive(config, path, defaultValue, errors);
+        if (value > 100) {
+            errors.add(path + " must be at most 100");
+        }
+        return value;
+    }
+
+    private static int atLeast(ConfigurationSection config, String path, int defaultValue, int minimum, List<String> errors) {
+        if (config.isSet(path) && !config.isInt(path)) {
+            errors.add(path + " must be a whole number");
+            return defaultValue;
+        }
+        int value = config.getInt(path, defaultValue);
+        if (value < minimum) {
+            errors.add(path + " must be at least " + minimum);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,219 @@
+package dev.siea.database;
+
+import dev.siea.config.WatchdogConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The CircuitBreaker class protects the database from calls while it is failing or slow, and protects the bot from
+ * waiting on such calls. It evaluates the outcomes of the most recent calls and opens when too many of them failed or
+ * took too long. While open, calls are rejected immediately. After the configured time a single trial call is let
+ * through; the breaker closes if it succeeds quickly and opens again otherwise.
+ * Every permitted call carries the generation of the breaker it was admitted in, so a call that only finishes after
+ * the breaker has changed state cannot affect the new state.
+ */
+class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    enum State {
+        /**
+         * Calls pass and their outcomes are evaluated.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+        /**
+         * A single trial call decides whether the breaker closes or opens again.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Thrown instead of making a call while the breaker is open.
+     */
+    static class OpenException extends SQLTransientConnectionException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs an OpenException.
+         */
+        OpenException() {
+            super("The database circuit breaker is open");
+        }
+    }
+
+    /**
+     * The permission to make a single call, handed back with its outcome.
+     *
+     * @param generation the generation of the breaker the call was admitted in.
+     * @param trial      whether the call is the trial call of a half-open breaker.
+     */
+    record Permit(long generation, boolean trial) {
+    }
+
+    private final Supplier<WatchdogConfig> config;
+    private State state = State.CLOSED;
+    private long generation;
+    private boolean[] failed = new boolean[0];
+    private boolean[] slow = new boolean[0];
+    private int recorded;
+    private int next;
+    private int failedCount;
+    private int slowCount;
+    private long openedAt;
+    private boolean trialRunning;
+    private long tripCount;
+    private long rejectedCount;
+
+    /**
+     * Constructs a closed CircuitBreaker.
+     *
+     * @param config the supplier of the current configuration, read for the thresholds on every evaluation.
+     */
+    CircuitBreaker(@NotNull Supplier<WatchdogConfig> config) {
+        this.config = config;
+    }
+
+    /**
+     * Asks for permission to make a call. Every permitted call must be followed by {@link #record(Permit, long, boolean)}.
+     *
+     * @return the permit of the call.
+     * @throws OpenException if the call is rejected.
+     */
+    synchronized Permit acquire() throws OpenException {
+        switch (state) {
+            case CLOSED:
+                return new Permit(generation, false);
+            case OPEN:
+                if (System.nanoTime() - openedAt < TimeUnit.SECONDS.toNanos(config.get().breaker().openSeconds())) {
+                    rejectedCount++;
+                    throw new OpenException();
+                }
+                transition(State.HALF_OPEN, "letting a trial call through");
+                trialRunning = true;
+                return new Permit(generation, true);
+            default:
+                if (trialRunning) {
+                    rejectedCount++;
+                    throw new OpenException();
+                }
+                trialRunning = true;
+                return new Permit(generation, true);
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call. Outcomes of calls admitted before the last change of state are ignored,
+     * and only the trial call decides whether a half-open breaker closes.
+     *
+     * @param permit        the permit the call was made with.
+     * @param durationNanos the time the call took.
+     * @param failure       whether the call failed because the database was unavailable.
+     */
+    synchronized void record(@NotNull Permit permit, long durationNanos, boolean failure) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        WatchdogConfig.CircuitBreakerSettings settings = config.get().breaker();
+        boolean slowCall = durationNanos >= TimeUnit.MILLISECONDS.toNanos(settings.slowCallMs());
+
+        switch (state) {
+            case HALF_OPEN:
+                if (!permit.trial()) {
+                    break;
+                }
+                trialRunning = false;
+                if (failure || slowCall) {
+                    open(failure ? "the trial call failed" : "the trial call was slow");
+                } else {
+                    resetWindow(settings.windowSize());
+                    transition(State.CLOSED, "the trial call succeeded");
+                }
+                break;
+
+            case CLOSED:
+                if (failed.length != settings.windowSize()) {
+                    resetWindow(settings.windowSize());
+                }
+                if (recorded == failed.length) {
+                    failedCount -= failed[next] ? 1 : 0;
+                    slowCount -= slow[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                failed[next] = failure;
+                slow[next] = slowCall;
+                failedCount += failure ? 1 : 0;
+                slowCount += slowCall ? 1 : 0;
+                next = (next + 1) % failed.length;
+
+                if (recorded >= settings.minimumCalls()) {
+                    if (failedCount * 100 >= settings.failureRatePercent() * recorded) {
+                        open(failedCount + " of the last " + recorded + " calls failed");
+                    } else if (slowCount * 100 >= settings.slowCallRatePercent() * recorded) {
+                        open(slowCount + " of the last " + recorded + " calls took longer than " + settings.slowCallMs() + " ms");
+                    }
+                }
+                break;
+
+            default:
+                // Permits are never handed out while open
+                break;
+        }
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the state.
+     */
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Returns how often the breaker has opened since the bot started.
+     *
+     * @return the number of times the breaker opened.
+     */
+    synchronized long tripCount() {
+        return tripCount;
+    }
+
+    /**
+     * Returns how many calls have been rejected since the bot started.
+     *
+     * @return the number of rejected calls.
+     */
+    synchronized long rejectedCount() {
+        return rejectedCount;
+    }
+
+    private void open(String reason) {
+        tripCount++;
+        openedAt = System.nanoTime();
+        transition(State.OPEN, reason);
+    }
+
+    private void resetWindow(int windowSize) {
+        failed = new boolean[windowSize];
+        slow = new boolean[windowSize];
+        recorded = 0;
+        next = 0;
+        failedCount = 0;
+        slowCount = 0;
+    }
+
+    private void transition(State newState, String reason) {
+        System.out.println("[Watchdog] Database circuit breaker " + state + " -> " + newState + ": " + reason);
+        state = newState;
+        generation++;
+    }
+}
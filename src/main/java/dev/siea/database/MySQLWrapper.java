@@ -1,22 +1,46 @@
 package dev.siea.database;
 
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
+import dev.siea.config.WatchdogConfig;
 import dev.siea.database.models.Report;
 import dev.siea.database.models.ReportQuery;
+import dev.siea.database.models.ReportRecord;
 import dev.siea.database.models.ReportType;
 import dev.siea.database.models.WatchDogUser;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.sql.*;
-import java.util.HashMap;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * This class is responsible for managing the interaction with a MySQL database, including creating tables,
  * retrieving and submitting reports, and fetching user data.
+ * Writes always go to the primary; user lookups may be served by an optional read replica.
+ * <p>
+ * Calls to the primary from the commands pass a {@link CircuitBreaker}; reads served by the replica do not, so a healthy
+ * replica neither hides failures of the primary nor is cut off by them. While the primary is unavailable, lookups the
+ * replica cannot serve are answered from the last known data and reports are spooled to disk, to be submitted once the
+ * primary has recovered.
  */
 public class MySQLWrapper {
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 2000;
+
     private final HikariDataSource dataSource;
+    private final Supplier<WatchdogConfig> config;
+    private final CircuitBreaker primaryBreaker;
+    private final ReportSpool spool;
+    private final Map<String, WatchDogUser> lastKnownUsers;
+    private final StorageMetrics metrics;
+    private volatile ReplicaRouter replica;
 
     /**
      * Constructs a MySQLWrapper instance and initializes the HikariDataSource with the given database credentials.
@@ -24,14 +48,25 @@ public class MySQLWrapper {
      * @param url      the JDBC URL of the database.
      * @param username the database username.
      * @param password the database password.
+     * @param config   the supplier of the current configuration, read for pool settings and rate limits.
      */
-    public MySQLWrapper(@NotNull String url, @NotNull String username, @NotNull String password) {
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(url);
-        config.setUsername(username);
-        config.setPassword(password);
+    public MySQLWrapper(@NotNull String url, @NotNull String username, @NotNull String password, @NotNull Supplier<WatchdogConfig> config) {
+        this.config = config;
+        this.primaryBreaker = new CircuitBreaker(config);
+        this.spool = new ReportSpool(config.get().degraded().spoolFile());
+        this.lastKnownUsers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WatchDogUser> eldest) {
+                return size() > config.get().degraded().cacheSize();
+            }
+        });
+        this.metrics = new StorageMetrics(primaryBreaker, spool, lastKnownUsers::size);
+
+        WatchdogConfig.PoolSettings pool = config.get().pool();
+        HikariConfig hikariConfig = poolConfig(url, username, password, pool);
+        hikariConfig.setConnectionTimeout(pool.connectionTimeoutMs());
         try {
-            dataSource = new HikariDataSource(config);
+            dataSource = new HikariDataSource(hikariConfig);
         } catch (Exception e) {
             System.out.println("[Watchdog] Unable to connect to MySQL database.");
             throw new RuntimeException(e);
@@ -41,20 +76,84 @@ public class MySQLWrapper {
     }
 
     /**
-     * Creates the "reports" table if it does not already exist.
+     * Connects the read replica that serves {@link #getWatchdogUser(String, String)} and {@link #retrieveReportById(String, String)}.
+     * The replica does not have to be reachable yet; reads stay on the primary until it passes a health check.
+     * A short connection timeout keeps an unreachable replica from delaying reads before they fall back to the primary.
+     *
+     * @param url      the JDBC URL of the replica.
+     * @param username the database username.
+     * @param password the database password.
+     */
+    public void connectReplica(@NotNull String url, @NotNull String username, @NotNull String password) {
+        WatchdogConfig.PoolSettings pool = config.get().pool();
+        HikariConfig hikariConfig = poolConfig(url, username, password, pool);
+        hikariConfig.setPoolName("Watchdog-Replica-Pool");
+        hikariConfig.setReadOnly(true);
+        hikariConfig.setConnectionTimeout(Math.min(pool.connectionTimeoutMs(), REPLICA_CONNECTION_TIMEOUT_MS));
+        hikariConfig.setInitializationFailTimeout(-1);
+
+        ReplicaRouter router = new ReplicaRouter(new HikariDataSource(hikariConfig), config);
+        router.start();
+        replica = router;
+        System.out.println("[Watchdog] Connecting to MySQL read replica.");
+    }
+
+    private static HikariConfig poolConfig(String url, String username, String password, WatchdogConfig.PoolSettings pool) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setUsername(username);
+        hikariConfig.setPassword(password);
+        hikariConfig.setMaximumPoolSize(pool.maximumPoolSize());
+        hikariConfig.setMinimumIdle(pool.minimumIdle());
+        return hikariConfig;
+    }
+
+    /**
+     * Creates the "reports" table, partitioned by month, and the archive bookkeeping tables if they do not already exist.
+     * An existing unpartitioned "reports" table is left as it is, see {@link #migrateReportsTable()}.
      */
     private void createReportsTable(){
         try (Connection connection = dataSource.getConnection()) {
+            boolean partitioned = ReportPartitionManager.isSupported(connection);
             String createTableSQL = "CREATE TABLE IF NOT EXISTS reports (" +
-                    "id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "id INT AUTO_INCREMENT," +
                     "reported_user_id VARCHAR(24) NOT NULL," +
                     "reporter_user_id VARCHAR(24) NOT NULL," +
                     "report_type_id VARCHAR(128) NOT NULL," +
                     "description TEXT," +
-                    "reported_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    "reported_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+                    "PRIMARY KEY (id, reported_at)," +
+                    "INDEX idx_reported_user (reported_user_id)," +
+                    "INDEX idx_reporter_time (reporter_user_id, reported_at)" +
+                    ")" + (partitioned ? " " + ReportPartitionManager.partitionClause(YearMonth.now()) : "") + ";";
+            String createSummarySQL = "CREATE TABLE IF NOT EXISTS reports_archive_summary (" +
+                    "reported_user_id VARCHAR(24) NOT NULL," +
+                    "report_type_id VARCHAR(128) NOT NULL," +
+                    "report_count INT NOT NULL," +
+                    "PRIMARY KEY (reported_user_id, report_type_id)" +
+                    ");";
+            String createArchiveKeysSQL = "CREATE TABLE IF NOT EXISTS reports_archive_keys (" +
+                    "reported_user_id VARCHAR(24) NOT NULL," +
+                    "reporter_user_id VARCHAR(24) NOT NULL," +
+                    "report_type_id VARCHAR(128) NOT NULL," +
+                    "PRIMARY KEY (reported_user_id, reporter_user_id, report_type_id)" +
+                    ");";
+            String createArchiveLogSQL = "CREATE TABLE IF NOT EXISTS reports_archive_log (" +
+                    "partition_name VARCHAR(64) PRIMARY KEY," +
+                    "row_count INT NOT NULL," +
+                    "archive_file VARCHAR(255)," +
+                    "archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
                     ");";
             try (Statement statement = connection.createStatement()) {
                 statement.executeUpdate(createTableSQL);
+                statement.executeUpdate(createSummarySQL);
+                statement.executeUpdate(createArchiveKeysSQL);
+                statement.executeUpdate(createArchiveLogSQL);
+            }
+
+            if (partitioned && !ReportPartitionManager.isPartitioned(connection)) {
+                System.out.println("[Watchdog] The reports table is not partitioned, report retention stays inactive until it is migrated. " +
+                        "Stop the bot and run \"java -jar Watchdog.jar migrate\" to migrate it.");
             }
         } catch (SQLException e) {
             System.out.println(e.getMessage());
@@ -62,18 +161,196 @@ public class MySQLWrapper {
     }
 
     /**
-     * Retrieves a WatchDogUser object with their report IDs and types by their user ID.
+     * Converts an existing, unpartitioned "reports" table to monthly partitions. MySQL copies the whole table and
+     * blocks writes to it while the statement runs, so this is only run on request while the bot is stopped.
+     *
+     * @return true if the table has been migrated, false if it is already partitioned or the database does not support partitioning.
+     * @throws SQLException if the table cannot be migrated.
+     */
+    public boolean migrateReportsTable() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!ReportPartitionManager.isSupported(connection) || ReportPartitionManager.isPartitioned(connection)) {
+                return false;
+            }
+            ReportPartitionManager.migrate(connection, YearMonth.now());
+            return true;
+        }
+    }
+
+    /**
+     * Applies changed pool settings to the running connection pools.
+     *
+     * @param pool the new pool settings.
+     */
+    public void applyPoolSettings(@NotNull WatchdogConfig.PoolSettings pool) {
+        applyPoolSettings(dataSource, pool, pool.connectionTimeoutMs());
+        ReplicaRouter router = replica;
+        if (router != null) {
+            applyPoolSettings(router.dataSource(), pool, Math.min(pool.connectionTimeoutMs(), REPLICA_CONNECTION_TIMEOUT_MS));
+        }
+    }
+
+    private static void applyPoolSettings(HikariDataSource dataSource, WatchdogConfig.PoolSettings pool, long connectionTimeoutMs) {
+        HikariConfigMXBean poolConfig = dataSource.getHikariConfigMXBean();
+        // Grow the maximum first and shrink it last, so minimumIdle never exceeds it in between
+        if (pool.maximumPoolSize() >= poolConfig.getMaximumPoolSize()) {
+            poolConfig.setMaximumPoolSize(pool.maximumPoolSize());
+            poolConfig.setMinimumIdle(pool.minimumIdle());
+        } else {
+            poolConfig.setMinimumIdle(pool.minimumIdle());
+            poolConfig.setMaximumPoolSize(pool.maximumPoolSize());
+        }
+        poolConfig.setConnectionTimeout(connectionTimeoutMs);
+    }
+
+    /**
+     * Borrows a connection from the pool. Used by background jobs operating on the same database.
+     *
+     * @return a pooled connection, which must be closed by the caller.
+     * @throws SQLException if no connection could be obtained.
+     */
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Returns the metrics of the circuit breaker, the report spool and the cache.
+     *
+     * @return the storage metrics, which can be registered as an MXBean.
+     */
+    public StorageMetricsMXBean metrics() {
+        return metrics;
+    }
+
+    /**
+     * Runs a call to the primary through its circuit breaker.
+     *
+     * @param call the call to run.
+     * @return the result of the call.
+     * @throws SQLException if the call fails, or a {@link CircuitBreaker.OpenException} if the breaker rejects it.
+     */
+    private <T> T guarded(SqlCall<T> call) throws SQLException {
+        CircuitBreaker.Permit permit = primaryBreaker.acquire();
+        long start = System.nanoTime();
+        boolean failure = false;
+        try {
+            return call.call();
+        } catch (SQLException e) {
+            failure = isUnavailable(e);
+            throw e;
+        } finally {
+            primaryBreaker.record(permit, System.nanoTime() - start, failure);
+        }
+    }
+
+    /**
+     * Returns whether an exception means that the database could not be reached or did not answer in time,
+     * as opposed to an error in the statement or the data.
+     *
+     * @param e the exception.
+     * @return true if the database is unavailable.
+     */
+    private static boolean isUnavailable(SQLException e) {
+        String sqlState = e.getSQLState();
+        return e instanceof SQLTransientException || e instanceof SQLRecoverableException
+                || e instanceof SQLNonTransientConnectionException || (sqlState != null && sqlState.startsWith("08"));
+    }
+
+    /**
+     * A call to the database.
+     */
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * Runs a read on the replica if it is usable for the reader, and on the primary otherwise.
+     * A read that fails on the replica marks it unhealthy and is retried on the primary. Only the read on the primary
+     * passes the circuit breaker.
+     *
+     * @param readerId the Discord user ID the read is made for, or null if it is not made for a specific user.
+     * @param read     the read to run.
+     * @return the result of the read.
+     * @throws SQLException if the read fails on the primary, or a {@link CircuitBreaker.OpenException} if the breaker rejects it.
+     */
+    private <T> T read(@Nullable String readerId, SqlRead<T> read) throws SQLException {
+        ReplicaRouter router = replica;
+        if (router != null && router.isUsable(readerId)) {
+            try (Connection connection = router.getConnection()) {
+                return read.apply(connection);
+            } catch (SQLException e) {
+                router.markUnhealthy("a read on the read replica failed (" + e.getMessage() + ")");
+            }
+        }
+        return guarded(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return read.apply(connection);
+            }
+        });
+    }
+
+    /**
+     * A read that runs on a borrowed connection.
+     */
+    private interface SqlRead<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Retrieves a WatchDogUser object with their report IDs and types by their user ID,
+     * along with the report counts of partitions that have already been archived.
      *
      * @param id the user ID.
-     * @return a WatchDogUser object containing the user ID and a map of report IDs and their types.
+     * @return a WatchDogUser object containing the user ID, a map of report IDs and their types and the archived report counts,
+     * or null if the database is unavailable and the user has not been looked up before.
+     * @see #getWatchdogUser(String, String)
      */
     public WatchDogUser getWatchdogUser(@NotNull String id) {
+        return getWatchdogUser(id, null);
+    }
+
+    /**
+     * Retrieves a WatchDogUser object like {@link #getWatchdogUser(String)}, on behalf of a user.
+     * If that user has just submitted a report, the lookup is served by the primary so the report is included.
+     * While neither the replica nor the primary can serve the lookup, the last known data of the user is returned,
+     * marked with the time it was read.
+     *
+     * @param id       the user ID.
+     * @param readerId the Discord user ID of the user the lookup is made for, or null.
+     * @return a WatchDogUser object containing the user ID, a map of report IDs and their types and the archived report counts,
+     * or null if the database is unavailable and the user has not been looked up before.
+     */
+    public WatchDogUser getWatchdogUser(@NotNull String id, @Nullable String readerId) {
+        try {
+            WatchDogUser user = read(readerId, connection -> readWatchdogUser(connection, id));
+            lastKnownUsers.put(id, new WatchDogUser(id, user.reports(), user.archivedReports(), Instant.now()));
+            return user;
+        } catch (SQLException e) {
+            if (!(e instanceof CircuitBreaker.OpenException)) {
+                System.out.println(e.getMessage());
+            }
+            if (!isUnavailable(e)) {
+                return new WatchDogUser(id, new HashMap<>(), new HashMap<>());
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("[Watchdog] Invalid report type found in database for user " + id);
+            return new WatchDogUser(id, new HashMap<>(), new HashMap<>());
+        }
+
+        WatchDogUser cached = lastKnownUsers.get(id);
+        if (cached != null) {
+            metrics.staleLookup();
+        }
+        return cached;
+    }
+
+    private static WatchDogUser readWatchdogUser(Connection connection, String id) throws SQLException {
         String query = "SELECT id, report_type_id FROM reports WHERE reported_user_id = ?";
+        String archivedQuery = "SELECT report_type_id, report_count FROM reports_archive_summary WHERE reported_user_id = ?";
         HashMap<String, ReportType> reportIDs = new HashMap<>();
+        HashMap<ReportType, Integer> archivedReports = new HashMap<>();
 
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, id);
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -84,67 +361,190 @@ public class MySQLWrapper {
                     reportIDs.put(reportId, reportType);
                 }
             }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.out.println("[Watchdog] Invalid report type found in database for user " + id);
         }
 
-        return new WatchDogUser(id, reportIDs);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(archivedQuery)) {
+            preparedStatement.setString(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ReportType reportType = ReportType.valueOf(resultSet.getString("report_type_id"));
+                    archivedReports.merge(reportType, resultSet.getInt("report_count"), Integer::sum);
+                }
+            }
+        }
+
+        return new WatchDogUser(id, reportIDs, archivedReports);
     }
 
     /**
      * Submits a report to the database and returns a result code.
+     * The duplicate and rate limit checks run on the primary, and after a successful submission the reporter's reads
+     * are pinned to the primary for the configured read-your-writes window.
+     * While the database is unavailable, the report is spooled and submitted once the database has recovered.
      *
      * @param reportQuery a ReportQuery object containing the report details.
-     * @return an integer code indicating the result of the operation.
+     * @return an integer code indicating the result of the operation: 200 if the report has been submitted, 202 if it
+     * has been spooled, 409 if it is a duplicate, 403 if the rate limit has been reached, or -1 on an unexpected error.
      */
     public int submitReport(@NotNull ReportQuery reportQuery) {
-        String insertSQL = "INSERT INTO reports (reported_user_id, reporter_user_id, report_type_id, description) VALUES (?, ?, ?, ?)";
-        String checkReportSQL = "SELECT COUNT(*) FROM reports WHERE reported_user_id = ? AND reporter_user_id = ? AND report_type_id = ?";
-        String checkReportsCountSQL = "SELECT COUNT(*) FROM reports WHERE reporter_user_id = ? AND reported_at >= NOW() - INTERVAL 24 HOUR";
+        try {
+            int result = guarded(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    return submit(connection, reportQuery, null);
+                }
+            });
+            ReplicaRouter router = replica;
+            if (result == 200 && router != null) {
+                router.pin(reportQuery.reporterID());
+            }
+            return result;
+        } catch (SQLException e) {
+            if (!(e instanceof CircuitBreaker.OpenException)) {
+                System.out.println(e.getMessage());
+            }
+            if (!isUnavailable(e)) {
+                return -1; // Indicate a generic SQL error
+            }
+        }
 
-        try (Connection connection = dataSource.getConnection()) {
+        WatchdogConfig snapshot = config.get();
+        return spool.offer(reportQuery, snapshot.rateLimit().maxReports(), snapshot.degraded().spoolMaxSize());
+    }
 
-            // Check if the user has already reported the same target with the same reason
-            try (PreparedStatement checkReportStmt = connection.prepareStatement(checkReportSQL)) {
-                checkReportStmt.setString(1, reportQuery.userID());
-                checkReportStmt.setString(2, reportQuery.reporterID());
-                checkReportStmt.setString(3, reportQuery.type().name());
+    /**
+     * Checks and inserts a report.
+     *
+     * @param connection  the connection to the primary.
+     * @param reportQuery the report details.
+     * @param reportedAt  the time the report was submitted in epoch seconds, or null for now.
+     * @return 200 if the report has been inserted, 409 if it is a duplicate, or 403 if the rate limit has been reached.
+     * @throws SQLException if a statement fails.
+     */
+    private int submit(Connection connection, ReportQuery reportQuery, Long reportedAt) throws SQLException {
+        String insertSQL = reportedAt == null
+                ? "INSERT INTO reports (reported_user_id, reporter_user_id, report_type_id, description) VALUES (?, ?, ?, ?)"
+                : "INSERT INTO reports (reported_user_id, reporter_user_id, report_type_id, description, reported_at) VALUES (?, ?, ?, ?, FROM_UNIXTIME(?))";
+        String checkReportSQL = "SELECT (SELECT COUNT(*) FROM reports WHERE reported_user_id = ? AND reporter_user_id = ? AND report_type_id = ?)" +
+                " + (SELECT COUNT(*) FROM reports_archive_keys WHERE reported_user_id = ? AND reporter_user_id = ? AND report_type_id = ?)";
+        String checkReportsCountSQL = "SELECT COUNT(*) FROM reports WHERE reporter_user_id = ? AND reported_at >= TIMESTAMPADD(HOUR, ?, NOW())";
+        WatchdogConfig.RateLimitSettings rateLimit = config.get().rateLimit();
 
-                try (ResultSet resultSet = checkReportStmt.executeQuery()) {
-                    if (resultSet.next() && resultSet.getInt(1) > 0) {
-                        return 409;
-                    }
+        // Check if the user has already reported the same target with the same reason, including archived reports
+        try (PreparedStatement checkReportStmt = connection.prepareStatement(checkReportSQL)) {
+            for (int offset = 0; offset <= 3; offset += 3) {
+                checkReportStmt.setString(offset + 1, reportQuery.userID());
+                checkReportStmt.setString(offset + 2, reportQuery.reporterID());
+                checkReportStmt.setString(offset + 3, reportQuery.type().name());
+            }
+
+            try (ResultSet resultSet = checkReportStmt.executeQuery()) {
+                if (resultSet.next() && resultSet.getInt(1) > 0) {
+                    return 409;
                 }
             }
+        }
 
-            // Check if the user has exceeded the maximum reports in the last 24 hours
-            try (PreparedStatement checkReportsCountStmt = connection.prepareStatement(checkReportsCountSQL)) {
-                checkReportsCountStmt.setString(1, reportQuery.reporterID());
+        // Check if the user has exceeded the maximum reports within the rate limit window
+        try (PreparedStatement checkReportsCountStmt = connection.prepareStatement(checkReportsCountSQL)) {
+            checkReportsCountStmt.setString(1, reportQuery.reporterID());
+            checkReportsCountStmt.setInt(2, -rateLimit.windowHours());
 
-                try (ResultSet resultSet = checkReportsCountStmt.executeQuery()) {
-                    if (resultSet.next() && resultSet.getInt(1) >= 5) { // Assume 5 is the max reports in 24 hours
-                        return 403;
-                    }
+            try (ResultSet resultSet = checkReportsCountStmt.executeQuery()) {
+                if (resultSet.next() && resultSet.getInt(1) >= rateLimit.maxReports()) {
+                    return 403;
                 }
             }
+        }
+
+        // If checks pass, insert the report
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insertSQL)) {
+            preparedStatement.setString(1, reportQuery.userID());
+            preparedStatement.setString(2, reportQuery.reporterID());
+            preparedStatement.setString(3, reportQuery.type().name());
+            preparedStatement.setString(4, reportQuery.description());
+            if (reportedAt != null) {
+                preparedStatement.setLong(5, reportedAt);
+            }
 
-            // If checks pass, insert the report
-            try (PreparedStatement preparedStatement = connection.prepareStatement(insertSQL)) {
-                preparedStatement.setString(1, reportQuery.userID());
-                preparedStatement.setString(2, reportQuery.reporterID());
-                preparedStatement.setString(3, reportQuery.type().name());
-                preparedStatement.setString(4, reportQuery.description());
+            preparedStatement.executeUpdate();
+            return 200;
+        }
+    }
 
-                preparedStatement.executeUpdate();
-                return 200;
+    /**
+     * Replays the report spool now and then repeatedly on the given scheduler. The delay until the next replay is
+     * taken from the configuration after each replay, so a changed interval applies without restarting.
+     *
+     * @param scheduler the scheduler to replay the spool on.
+     */
+    public void startSpoolReplay(@NotNull ScheduledExecutorService scheduler) {
+        scheduler.execute(() -> replayAndReschedule(scheduler));
+    }
+
+    private void replayAndReschedule(ScheduledExecutorService scheduler) {
+        try {
+            replaySpool();
+        } catch (RuntimeException e) {
+            System.out.println("[Watchdog] Replaying spooled reports failed: " + e.getMessage());
+        }
+        scheduler.schedule(() -> replayAndReschedule(scheduler), config.get().degraded().replayIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Submits spooled reports in the order they were spooled, keeping their original submission time.
+     * Reports that turn out to be duplicates or exceed the rate limit are dropped, the same as if they had been
+     * submitted directly. The replay stops as soon as the database is unavailable again.
+     *
+     * @return the number of reports taken from the spool.
+     */
+    public int replaySpool() {
+        List<ReportRecord> pending = spool.pending();
+        int processed = 0;
+        int submitted = 0;
+        for (ReportRecord record : pending) {
+            ReportQuery reportQuery;
+            try {
+                reportQuery = new ReportQuery(record.userID(), record.reporterID(), ReportType.valueOf(record.type()), record.description());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                System.out.println("[Watchdog] Dropping spooled report with invalid report type " + record.type());
+                processed++;
+                continue;
             }
 
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-            return -1; // Indicate a generic SQL error
+            try {
+                int result = guarded(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        return submit(connection, reportQuery, record.reportedAt());
+                    }
+                });
+                if (result == 200) {
+                    submitted++;
+                } else {
+                    System.out.println("[Watchdog] Dropping spooled report by " + record.reporterID() + " against " + record.userID() +
+                            (result == 409 ? ": already reported" : ": rate limit reached"));
+                }
+                processed++;
+            } catch (SQLException e) {
+                if (isUnavailable(e)) {
+                    break;
+                }
+                System.out.println("[Watchdog] Dropping spooled report by " + record.reporterID() + " against " + record.userID() + ": " + e.getMessage());
+                processed++;
+            }
+        }
+
+        if (processed > 0) {
+            try {
+                spool.removeFirst(processed);
+            } catch (IOException e) {
+                System.out.println("[Watchdog] Unable to update the report spool: " + e.getMessage());
+                return 0;
+            }
+            metrics.replayed(submitted);
+            System.out.println("[Watchdog] Submitted " + submitted + " of " + processed + " spooled report(s), " + spool.depth() + " remaining.");
         }
+        return processed;
     }
 
     /**
@@ -154,28 +554,47 @@ public class MySQLWrapper {
      * @return a Report object containing the report details, or null if the report is not found.
      */
     public Report retrieveReportById(@NotNull String reportID) {
-        String query = "SELECT reported_user_id, reporter_user_id, report_type_id, description FROM reports WHERE id = ?";
+        return retrieveReportById(reportID, null);
+    }
 
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+    /**
+     * Retrieves a Report object like {@link #retrieveReportById(String)}, on behalf of a user.
+     * If that user has just submitted a report, the lookup is served by the primary.
+     *
+     * @param reportID the report ID.
+     * @param readerId the Discord user ID of the user the lookup is made for, or null.
+     * @return a Report object containing the report details, or null if the report is not found.
+     */
+    public Report retrieveReportById(@NotNull String reportID, @Nullable String readerId) {
+        String query = "SELECT reported_user_id, reporter_user_id, report_type_id, description FROM reports WHERE id = ?";
 
-            preparedStatement.setString(1, reportID);
+        try {
+            Report report = read(readerId, connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    preparedStatement.setString(1, reportID);
 
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    String userID = resultSet.getString("reported_user_id");
-                    String reporterID = resultSet.getString("reporter_user_id");
-                    String reportTypeStr = resultSet.getString("report_type_id");
-                    ReportType reportType = ReportType.valueOf(reportTypeStr);
-                    String description = resultSet.getString("description");
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            return null;
+                        }
+                        String userID = resultSet.getString("reported_user_id");
+                        String reporterID = resultSet.getString("reporter_user_id");
+                        String reportTypeStr = resultSet.getString("report_type_id");
+                        ReportType reportType = ReportType.valueOf(reportTypeStr);
+                        String description = resultSet.getString("description");
 
-                    return new Report(reportID, userID, reporterID, reportType, description);
-                } else {
-                    System.out.println("No report found with ID: " + reportID);
+                        return new Report(reportID, userID, reporterID, reportType, description);
+                    }
                 }
+            });
+            if (report != null) {
+                return report;
             }
+            System.out.println("No report found with ID: " + reportID);
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
+            if (!(e instanceof CircuitBreaker.OpenException)) {
+                System.out.println(e.getMessage());
+            }
         } catch (IllegalArgumentException e) {
             System.out.println("[Watchdog] Invalid report type found in database for report ID " + reportID);
         }
@@ -184,9 +603,14 @@ public class MySQLWrapper {
     }
 
     /**
-     * Closes the HikariDataSource and releases any database connections.
+     * Closes the HikariDataSources and the report spool and releases any database connections.
      */
     public void shutdown() {
+        spool.close();
+        ReplicaRouter router = replica;
+        if (router != null) {
+            router.shutdown();
+        }
         if (dataSource != null) {
             dataSource.close();
         }
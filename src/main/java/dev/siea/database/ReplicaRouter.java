@@ -0,0 +1,194 @@
+package dev.siea.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.siea.config.WatchdogConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The ReplicaRouter class decides whether a read may be served by the read replica. The replica is probed in the
+ * background and only used while it answers and its replication lag stays within the configured limit.
+ * Users who have just submitted a report are pinned to the primary for a short window, so they always see their own writes.
+ */
+class ReplicaRouter {
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource dataSource;
+    private final Supplier<WatchdogConfig> config;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Watchdog-Replica");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean healthy = false;
+    private volatile String problem = "not checked yet";
+
+    /**
+     * Constructs a ReplicaRouter. Reads stay on the primary until the first health check has passed.
+     *
+     * @param dataSource the connection pool of the replica.
+     * @param config     the supplier of the current configuration, read for the lag limit and the pin window.
+     */
+    ReplicaRouter(@NotNull HikariDataSource dataSource, @NotNull Supplier<WatchdogConfig> config) {
+        this.dataSource = dataSource;
+        this.config = config;
+    }
+
+    /**
+     * Starts checking the health of the replica in the background. The delay until the next check is taken from
+     * the configuration after each check, so a changed interval applies without restarting.
+     */
+    void start() {
+        scheduler.execute(this::checkAndReschedule);
+    }
+
+    private void checkAndReschedule() {
+        checkHealth();
+        scheduler.schedule(this::checkAndReschedule, config.get().replica().healthCheckSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns whether a read may be sent to the replica.
+     *
+     * @param readerId the Discord user ID the read is made for, or null if it is not made for a specific user.
+     * @return true if the replica is healthy and the reader is not pinned to the primary.
+     */
+    boolean isUsable(@Nullable String readerId) {
+        if (!healthy) {
+            return false;
+        }
+        if (readerId == null) {
+            return true;
+        }
+        Long until = pinnedUntil.get(readerId);
+        if (until == null) {
+            return true;
+        }
+        if (until - System.nanoTime() > 0) {
+            return false;
+        }
+        pinnedUntil.remove(readerId, until);
+        return true;
+    }
+
+    /**
+     * Returns the connection pool of the replica.
+     *
+     * @return the replica pool.
+     */
+    HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Borrows a connection from the replica pool.
+     *
+     * @return a pooled read-only connection, which must be closed by the caller.
+     * @throws SQLException if no connection could be obtained.
+     */
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Pins the reads of a user to the primary for the configured read-your-writes window.
+     *
+     * @param userId the Discord user ID that has just written to the primary.
+     */
+    void pin(@NotNull String userId) {
+        int seconds = config.get().replica().readYourWritesSeconds();
+        if (seconds > 0) {
+            pinnedUntil.put(userId, System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds));
+        }
+    }
+
+    /**
+     * Stops sending reads to the replica until the next health check passes.
+     *
+     * @param reason the reason, logged unless it is already known.
+     */
+    void markUnhealthy(@NotNull String reason) {
+        update(reason);
+    }
+
+    /**
+     * Checks whether the replica answers and, if enabled, whether its replication lag is within the limit.
+     * Expired read-your-writes pins are cleared on the way.
+     */
+    void checkHealth() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+        update(probe(config.get().replica()));
+    }
+
+    /**
+     * Stops the health checks and closes the replica pool.
+     */
+    void shutdown() {
+        scheduler.shutdownNow();
+        dataSource.close();
+    }
+
+    private synchronized void update(@Nullable String newProblem) {
+        if (newProblem == null && !healthy) {
+            System.out.println("[Watchdog] Read replica is healthy, routing reads to it.");
+        } else if (newProblem != null && (healthy || !newProblem.equals(problem))) {
+            System.out.println("[Watchdog] Routing reads to the primary: " + newProblem);
+        }
+        healthy = newProblem == null;
+        problem = newProblem;
+    }
+
+    /**
+     * Probes the replica.
+     *
+     * @return null if the replica may serve reads, otherwise a description of the problem.
+     */
+    private String probe(WatchdogConfig.ReplicaSettings settings) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            if (!settings.checkLag()) {
+                statement.execute("SELECT 1");
+                return null;
+            }
+
+            Long lag;
+            try (ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+                lag = readLag(resultSet, "Seconds_Behind_Source");
+            } catch (SQLSyntaxErrorException e) {
+                // MySQL before 8.0.22 only knows the old syntax
+                try (ResultSet resultSet = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    lag = readLag(resultSet, "Seconds_Behind_Master");
+                }
+            }
+
+            if (lag == null) {
+                return "the read replica is not replicating (set replica.check-lag to false for a standalone instance)";
+            }
+            if (lag > settings.maxLagSeconds()) {
+                return "the read replica is " + lag + " seconds behind";
+            }
+            return null;
+        } catch (SQLException e) {
+            return "the read replica is unavailable (" + e.getMessage() + ")";
+        }
+    }
+
+    private static Long readLag(ResultSet resultSet, String column) throws SQLException {
+        if (!resultSet.next()) {
+            return null;
+        }
+        long lag = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : lag;
+    }
+}
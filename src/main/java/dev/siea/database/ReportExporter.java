@@ -0,0 +1,100 @@
+package dev.siea.database;
+
+import dev.siea.database.models.ReportRecord;
+import dev.siea.database.transfer.ReportFormat;
+import dev.siea.database.transfer.ReportRecordWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.*;
+
+/**
+ * The ReportExporter class streams the "reports" table to a {@link ReportRecordWriter}.
+ * Rows are read in id order using keyset pagination, so memory usage is bounded by the batch size regardless of the
+ * size of the table, and every query is short lived instead of holding a cursor open for the whole export.
+ */
+public class ReportExporter {
+    private final MySQLWrapper databaseWrapper;
+    private final int batchSize;
+
+    /**
+     * Constructs a ReportExporter.
+     *
+     * @param databaseWrapper the MySQLWrapper to export from.
+     * @param batchSize       the number of rows read per query.
+     */
+    public ReportExporter(@NotNull MySQLWrapper databaseWrapper, int batchSize) {
+        this.databaseWrapper = databaseWrapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Exports all reports to a file. The format is derived from the file name, see {@link ReportFormat#fromFileName(String)}.
+     *
+     * @param file the file to write.
+     * @return the number of exported reports.
+     * @throws SQLException if the reports cannot be read.
+     * @throws IOException  if the file cannot be written.
+     */
+    public long export(@NotNull Path file) throws SQLException, IOException {
+        try (ReportRecordWriter writer = ReportFormat.fromFileName(file.getFileName().toString()).open(file)) {
+            return export(writer);
+        }
+    }
+
+    /**
+     * Exports all reports.
+     *
+     * @param writer the writer receiving the reports.
+     * @return the number of exported reports.
+     * @throws SQLException if the reports cannot be read.
+     * @throws IOException  if the reports cannot be written.
+     */
+    public long export(@NotNull ReportRecordWriter writer) throws SQLException, IOException {
+        try (Connection connection = databaseWrapper.getConnection()) {
+            return export(connection, null, writer);
+        }
+    }
+
+    /**
+     * Exports the reports of a single partition, or of the whole table if no partition is given.
+     *
+     * @param connection the connection to use.
+     * @param partition  the partition to export, or null for all reports.
+     * @param writer     the writer receiving the reports.
+     * @return the number of exported reports.
+     * @throws SQLException if the reports cannot be read.
+     * @throws IOException  if the reports cannot be written.
+     */
+    long export(@NotNull Connection connection, @Nullable String partition, @NotNull ReportRecordWriter writer) throws SQLException, IOException {
+        String query = "SELECT id, reported_user_id, reporter_user_id, report_type_id, description, UNIX_TIMESTAMP(reported_at) AS reported_at " +
+                "FROM reports" + (partition == null ? "" : " PARTITION (" + partition + ")") + " WHERE id > ? ORDER BY id LIMIT ?";
+        long exported = 0;
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            long lastId = 0;
+            int rows;
+            do {
+                preparedStatement.setLong(1, lastId);
+                preparedStatement.setInt(2, batchSize);
+                rows = 0;
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getLong("id");
+                        writer.write(new ReportRecord(lastId,
+                                resultSet.getString("reported_user_id"),
+                                resultSet.getString("reporter_user_id"),
+                                resultSet.getString("report_type_id"),
+                                resultSet.getString("description"),
+                                resultSet.getLong("reported_at")));
+                        rows++;
+                    }
+                }
+                exported += rows;
+            } while (rows == batchSize);
+        }
+        return exported;
+    }
+}
@@ -0,0 +1,134 @@
+package dev.siea.database;
+
+import dev.siea.database.models.ImportResult;
+import dev.siea.database.models.ReportRecord;
+import dev.siea.database.models.ReportType;
+import dev.siea.database.transfer.ReportFormat;
+import dev.siea.database.transfer.ReportRecordReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.*;
+
+/**
+ * The ReportImporter class loads reports from a {@link ReportRecordReader} into the "reports" table.
+ * Records are inserted in batches, one transaction per batch. A record is skipped if its reporter has already reported
+ * the user for the same reason, live or in an archived partition, which is the duplicate check a submitted report
+ * passes. Importing the same file twice, or a retention archive, therefore does not create duplicates.
+ * Imported reports get new ids; the ids in the input are ignored.
+ */
+public class ReportImporter {
+    private final MySQLWrapper databaseWrapper;
+    private final int batchSize;
+
+    /**
+     * Constructs a ReportImporter.
+     *
+     * @param databaseWrapper the MySQLWrapper to import into.
+     * @param batchSize       the number of records inserted per batch.
+     */
+    public ReportImporter(@NotNull MySQLWrapper databaseWrapper, int batchSize) {
+        this.databaseWrapper = databaseWrapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Imports all records of a file. The format is derived from the file name, see {@link ReportFormat#fromFileName(String)}.
+     *
+     * @param file the file to read.
+     * @return an ImportResult summarizing the import.
+     * @throws SQLException if the reports cannot be inserted.
+     * @throws IOException  if the file cannot be read.
+     */
+    public ImportResult importReports(@NotNull Path file) throws SQLException, IOException {
+        try (ReportRecordReader reader = ReportFormat.fromFileName(file.getFileName().toString()).read(file)) {
+            return importReports(reader);
+        }
+    }
+
+    /**
+     * Imports all records of the reader.
+     *
+     * @param reader the reader providing the records.
+     * @return an ImportResult summarizing the import.
+     * @throws SQLException if the reports cannot be inserted.
+     * @throws IOException  if the input cannot be read.
+     */
+    public ImportResult importReports(@NotNull ReportRecordReader reader) throws SQLException, IOException {
+        String insertSQL = "INSERT INTO reports (reported_user_id, reporter_user_id, report_type_id, description, reported_at) " +
+                "SELECT ?, ?, ?, ?, FROM_UNIXTIME(?) FROM DUAL WHERE NOT EXISTS (" +
+                "SELECT 1 FROM reports WHERE reported_user_id = ? AND reporter_user_id = ? AND report_type_id = ?) AND NOT EXISTS (" +
+                "SELECT 1 FROM reports_archive_keys WHERE reported_user_id = ? AND reporter_user_id = ? AND report_type_id = ?)";
+        long read = 0;
+        long inserted = 0;
+        long invalid = 0;
+
+        try (Connection connection = databaseWrapper.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(insertSQL)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int batched = 0;
+                ReportRecord record;
+                while ((record = reader.next()) != null) {
+                    read++;
+                    if (!isValid(record)) {
+                        invalid++;
+                        continue;
+                    }
+
+                    preparedStatement.setString(1, record.userID());
+                    preparedStatement.setString(2, record.reporterID());
+                    preparedStatement.setString(3, record.type());
+                    preparedStatement.setString(4, record.description());
+                    preparedStatement.setLong(5, record.reportedAt());
+                    for (int offset = 5; offset <= 8; offset += 3) {
+                        preparedStatement.setString(offset + 1, record.userID());
+                        preparedStatement.setString(offset + 2, record.reporterID());
+                        preparedStatement.setString(offset + 3, record.type());
+                    }
+                    preparedStatement.addBatch();
+
+                    if (++batched == batchSize) {
+                        inserted += executeBatch(connection, preparedStatement);
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    inserted += executeBatch(connection, preparedStatement);
+                }
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        return new ImportResult(read, inserted, read - inserted - invalid, invalid);
+    }
+
+    private long executeBatch(Connection connection, PreparedStatement preparedStatement) throws SQLException {
+        long inserted = 0;
+        for (int count : preparedStatement.executeBatch()) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        connection.commit();
+        return inserted;
+    }
+
+    private boolean isValid(ReportRecord record) {
+        if (record.userID() == null || record.reporterID() == null || record.type() == null || record.reportedAt() <= 0) {
+            return false;
+        }
+        try {
+            ReportType.valueOf(record.type());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
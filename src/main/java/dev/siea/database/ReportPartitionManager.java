@@ -0,0 +1,195 @@
+package dev.siea.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ReportPartitionManager class maintains the monthly range partitions of the "reports" table.
+ * Every monthly partition is named after the month it holds (e.g. p202610) and ends at the first second of the
+ * following month. Rows older than the first monthly partition live in {@link #HISTORY_PARTITION}, rows beyond the
+ * last monthly partition in {@link #OVERFLOW_PARTITION}.
+ */
+class ReportPartitionManager {
+    static final String HISTORY_PARTITION = "p_history";
+    static final String OVERFLOW_PARTITION = "pmax";
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd 00:00:00");
+
+    /**
+     * The Partition record represents a single range partition of the "reports" table.
+     *
+     * @param name       the partition name.
+     * @param upperBound the exclusive upper bound in epoch seconds, or {@link Long#MAX_VALUE} for MAXVALUE.
+     */
+    record Partition(String name, long upperBound) {
+    }
+
+    private ReportPartitionManager() {
+    }
+
+    /**
+     * Builds the PARTITION BY clause for a freshly created or migrated "reports" table.
+     *
+     * @param current the month that receives its own partition.
+     * @return the partition clause.
+     */
+    static String partitionClause(@NotNull YearMonth current) {
+        return "PARTITION BY RANGE (UNIX_TIMESTAMP(reported_at)) (" +
+                "PARTITION " + HISTORY_PARTITION + " VALUES LESS THAN (" + boundOf(current) + ")," +
+                monthDefinition(current) + "," +
+                "PARTITION " + OVERFLOW_PARTITION + " VALUES LESS THAN MAXVALUE)";
+    }
+
+    /**
+     * Checks whether the database supports the partitioning used here, which is only the case for MySQL.
+     * Other databases, such as an embedded database used for testing, get an unpartitioned table.
+     *
+     * @param connection the connection to use.
+     * @return true if the database is MySQL.
+     * @throws SQLException if the database metadata cannot be read.
+     */
+    static boolean isSupported(@NotNull Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Checks whether the "reports" table is range partitioned.
+     *
+     * @param connection the connection to use.
+     * @return true if the table has partitions.
+     * @throws SQLException if the partition metadata cannot be read.
+     */
+    static boolean isPartitioned(@NotNull Connection connection) throws SQLException {
+        return !listPartitions(connection).isEmpty();
+    }
+
+    /**
+     * Converts an existing, unpartitioned "reports" table to the monthly layout.
+     * The primary key has to include reported_at because MySQL requires every unique key to cover the partition column.
+     *
+     * @param connection the connection to use.
+     * @param current    the month that receives its own partition.
+     * @throws SQLException if the table cannot be altered.
+     */
+    static void migrate(@NotNull Connection connection, @NotNull YearMonth current) throws SQLException {
+        String alterSQL = "ALTER TABLE reports " +
+                "MODIFY reported_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+                "DROP PRIMARY KEY," +
+                "ADD PRIMARY KEY (id, reported_at)," +
+                "ADD INDEX idx_reported_user (reported_user_id)," +
+                "ADD INDEX idx_reporter_time (reporter_user_id, reported_at) " +
+                partitionClause(current);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(alterSQL);
+        }
+    }
+
+    /**
+     * Lists the partitions of the "reports" table ordered by their upper bound.
+     *
+     * @param connection the connection to use.
+     * @return the partitions, or an empty list if the table is not partitioned.
+     * @throws SQLException if the partition metadata cannot be read.
+     */
+    static List<Partition> listPartitions(@NotNull Connection connection) throws SQLException {
+        String query = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reports' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION";
+        List<Partition> partitions = new ArrayList<>();
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                String description = resultSet.getString("PARTITION_DESCRIPTION");
+                long upperBound = "MAXVALUE".equalsIgnoreCase(description) ? Long.MAX_VALUE : Long.parseLong(description);
+                partitions.add(new Partition(resultSet.getString("PARTITION_NAME"), upperBound));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Makes sure a monthly partition exists for the current month and the given number of months ahead,
+     * by splitting them off the empty overflow partition.
+     *
+     * @param connection the connection to use.
+     * @param current    the current month.
+     * @param months     the number of months ahead that should already have a partition.
+     * @return the number of partitions added.
+     * @throws SQLException if the table cannot be reorganized.
+     */
+    static int ensureFuturePartitions(@NotNull Connection connection, @NotNull YearMonth current, int months) throws SQLException {
+        YearMonth latest = null;
+        for (Partition partition : listPartitions(connection)) {
+            YearMonth month = monthOf(partition.name());
+            if (month != null && (latest == null || month.isAfter(latest))) {
+                latest = month;
+            }
+        }
+
+        YearMonth next = latest == null ? current : latest.plusMonths(1);
+        YearMonth last = current.plusMonths(months);
+        if (next.isAfter(last)) {
+            return 0;
+        }
+
+        StringBuilder definitions = new StringBuilder();
+        int added = 0;
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.append(monthDefinition(month)).append(",");
+            added++;
+        }
+
+        String reorganizeSQL = "ALTER TABLE reports REORGANIZE PARTITION " + OVERFLOW_PARTITION + " INTO (" +
+                definitions + "PARTITION " + OVERFLOW_PARTITION + " VALUES LESS THAN MAXVALUE)";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(reorganizeSQL);
+        }
+        return added;
+    }
+
+    /**
+     * Resolves the first second of the given month in epoch seconds, as seen by the database session.
+     *
+     * @param connection the connection to use.
+     * @param month      the month.
+     * @return the epoch seconds of the start of the month.
+     * @throws SQLException if the query fails.
+     */
+    static long startOf(@NotNull Connection connection, @NotNull YearMonth month) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT " + boundOf(month))) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Parses the month out of a monthly partition name.
+     *
+     * @param name the partition name.
+     * @return the month, or null if the partition is not a monthly partition.
+     */
+    static YearMonth monthOf(@NotNull String name) {
+        try {
+            return YearMonth.parse(name, NAME_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String monthDefinition(YearMonth month) {
+        return "PARTITION " + month.format(NAME_FORMAT) + " VALUES LESS THAN (" + boundOf(month.plusMonths(1)) + ")";
+    }
+
+    private static String boundOf(YearMonth month) {
+        return "UNIX_TIMESTAMP('" + month.atDay(1).format(BOUND_FORMAT) + "')";
+    }
+}
@@ -0,0 +1,207 @@
+package dev.siea.database;
+
+import dev.siea.config.WatchdogConfig;
+import dev.siea.database.transfer.ReportFormat;
+import dev.siea.database.transfer.ReportRecordWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The ReportRetentionJob class is a background task that keeps the partitions of the "reports" table in shape.
+ * It creates partitions for upcoming months and, if retention is enabled, archives partitions older than the
+ * retention period to gzip compressed NDJSON files before dropping them. The report counts of every dropped
+ * partition are folded into the "reports_archive_summary" table so that aggregates still include archived history.
+ * Until an archived partition has been dropped its reports are counted both live and in the summary, so a failed drop
+ * is retried after a few minutes instead of waiting for the next regular run.
+ */
+public class ReportRetentionJob implements Runnable {
+    private static final long DROP_RETRY_MINUTES = 5;
+
+    private final MySQLWrapper databaseWrapper;
+    private final Supplier<WatchdogConfig> config;
+    private volatile boolean dropPending;
+
+    /**
+     * Constructs a ReportRetentionJob.
+     *
+     * @param databaseWrapper the MySQLWrapper whose "reports" table is maintained.
+     * @param config          the supplier of the current configuration, read at the start of every run.
+     */
+    public ReportRetentionJob(@NotNull MySQLWrapper databaseWrapper, @NotNull Supplier<WatchdogConfig> config) {
+        this.databaseWrapper = databaseWrapper;
+        this.config = config;
+    }
+
+    /**
+     * Runs the job now and then repeatedly on the given scheduler. The delay until the next run is taken from the
+     * configuration at the end of each run, so a changed interval applies without restarting. A run that could not
+     * drop an archived partition is followed by another one after a few minutes.
+     *
+     * @param scheduler the scheduler to run the job on.
+     */
+    public void start(@NotNull ScheduledExecutorService scheduler) {
+        scheduler.execute(() -> runAndReschedule(scheduler));
+    }
+
+    private void runAndReschedule(ScheduledExecutorService scheduler) {
+        run();
+        if (dropPending) {
+            scheduler.schedule(() -> runAndReschedule(scheduler), DROP_RETRY_MINUTES, TimeUnit.MINUTES);
+        } else {
+            scheduler.schedule(() -> runAndReschedule(scheduler), config.get().retention().intervalHours(), TimeUnit.HOURS);
+        }
+    }
+
+    /**
+     * Runs one maintenance pass. Any failure is logged and retried on the next run.
+     */
+    @Override
+    public void run() {
+        dropPending = false;
+        WatchdogConfig.RetentionSettings settings = config.get().retention();
+        try (Connection connection = databaseWrapper.getConnection()) {
+            if (!ReportPartitionManager.isSupported(connection) || !ReportPartitionManager.isPartitioned(connection)) {
+                return;
+            }
+
+            YearMonth current = YearMonth.now();
+            int added = ReportPartitionManager.ensureFuturePartitions(connection, current, settings.futurePartitions());
+            if (added > 0) {
+                System.out.println("[Watchdog] Added " + added + " report partition(s).");
+            }
+
+            if (settings.enabled()) {
+                expirePartitions(connection, settings, ReportPartitionManager.startOf(connection, current.minusMonths(settings.months())));
+            }
+        } catch (Exception e) {
+            System.out.println("[Watchdog] Report retention failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Archives and drops the oldest partitions that end before the cutoff, at most the configured number per run.
+     *
+     * @param connection the connection to use.
+     * @param settings   the retention settings of this run.
+     * @param cutoff     the epoch second before which all rows are expired.
+     * @throws SQLException if a partition cannot be archived or dropped.
+     * @throws IOException  if an archive file cannot be written.
+     */
+    private void expirePartitions(Connection connection, WatchdogConfig.RetentionSettings settings, long cutoff) throws SQLException, IOException {
+        List<ReportPartitionManager.Partition> expired = new ArrayList<>();
+        List<ReportPartitionManager.Partition> partitions = ReportPartitionManager.listPartitions(connection);
+        // Keep at least one partition besides the overflow partition, MySQL cannot drop the last one
+        for (int i = 0; i < partitions.size() - 2 && expired.size() < settings.partitionsPerRun(); i++) {
+            if (partitions.get(i).upperBound() <= cutoff) {
+                expired.add(partitions.get(i));
+            }
+        }
+
+        for (ReportPartitionManager.Partition partition : expired) {
+            if (!isArchived(connection, partition.name())) {
+                Path archive = writeArchive(connection, settings, partition.name());
+                summarize(connection, partition.name(), archive);
+            }
+            try {
+                dropPartition(connection, partition.name());
+            } catch (SQLException e) {
+                // The partition has been summarized, retry the drop soon so its reports are not counted twice for long
+                dropPending = true;
+                System.out.println("[Watchdog] Unable to drop archived report partition " + partition.name() +
+                        ", retrying in " + DROP_RETRY_MINUTES + " minutes: " + e.getMessage());
+                return;
+            }
+            System.out.println("[Watchdog] Archived and dropped report partition " + partition.name() + ".");
+        }
+    }
+
+    /**
+     * Checks whether the partition has already been summarized by a previous, interrupted run.
+     */
+    private boolean isArchived(Connection connection, String partition) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT 1 FROM reports_archive_log WHERE partition_name = ?")) {
+            preparedStatement.setString(1, partition);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Streams the partition to a gzip compressed NDJSON file. The file is written under a temporary name first,
+     * so a crash never leaves a truncated archive behind.
+     *
+     * @return the written archive file.
+     */
+    private Path writeArchive(Connection connection, WatchdogConfig.RetentionSettings settings, String partition) throws SQLException, IOException {
+        Files.createDirectories(settings.archiveDirectory());
+        Path archive = settings.archiveDirectory().resolve("reports-" + partition + ".ndjson.gz");
+        Path temporary = settings.archiveDirectory().resolve(archive.getFileName() + ".tmp.gz");
+
+        try (ReportRecordWriter writer = ReportFormat.NDJSON.open(temporary)) {
+            new ReportExporter(databaseWrapper, settings.batchSize()).export(connection, partition, writer);
+        }
+
+        Files.move(temporary, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return archive;
+    }
+
+    /**
+     * Adds the per user and type report counts of the partition to the archive summary, keeps who reported whom for
+     * which reason so the duplicate check still sees archived reports, and records the partition as archived,
+     * in one transaction so a retried run never counts a partition twice.
+     */
+    private void summarize(Connection connection, String partition, Path archive) throws SQLException {
+        String summarySQL = "INSERT INTO reports_archive_summary (reported_user_id, report_type_id, report_count) " +
+                "SELECT reported_user_id, report_type_id, COUNT(*) FROM reports PARTITION (" + partition + ") " +
+                "GROUP BY reported_user_id, report_type_id " +
+                "ON DUPLICATE KEY UPDATE report_count = report_count + VALUES(report_count)";
+        String keysSQL = "INSERT IGNORE INTO reports_archive_keys (reported_user_id, reporter_user_id, report_type_id) " +
+                "SELECT DISTINCT reported_user_id, reporter_user_id, report_type_id FROM reports PARTITION (" + partition + ")";
+        String logSQL = "INSERT INTO reports_archive_log (partition_name, row_count, archive_file) " +
+                "SELECT ?, COUNT(*), ? FROM reports PARTITION (" + partition + ")";
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement();
+             PreparedStatement logStatement = connection.prepareStatement(logSQL)) {
+            statement.executeUpdate(summarySQL);
+            statement.executeUpdate(keysSQL);
+            logStatement.setString(1, partition);
+            logStatement.setString(2, archive.toString());
+            logStatement.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Drops the partition. Dropping a partition only touches metadata, the short lock wait timeout keeps the
+     * statement from queueing behind long transactions and blocking report inserts while it waits.
+     */
+    private void dropPartition(Connection connection, String partition) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION lock_wait_timeout = 5");
+            try {
+                statement.executeUpdate("ALTER TABLE reports DROP PARTITION " + partition);
+            } finally {
+                statement.execute("SET SESSION lock_wait_timeout = DEFAULT");
+            }
+        }
+    }
+}
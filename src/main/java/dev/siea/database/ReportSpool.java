@@ -0,0 +1,181 @@
+package dev.siea.database;
+
+import dev.siea.database.models.ReportQuery;
+import dev.siea.database.models.ReportRecord;
+import dev.siea.database.transfer.ReportFormat;
+import dev.siea.database.transfer.ReportRecordReader;
+import dev.siea.database.transfer.ReportRecordWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ReportSpool class is a durable queue of reports that could not be submitted because the database was unavailable.
+ * Reports are appended to an NDJSON file and synced to disk before they are acknowledged, so they survive a restart
+ * of the bot. A torn last line left by a crash belongs to a report that was never acknowledged and is skipped.
+ */
+class ReportSpool {
+    private final Path file;
+    private final List<ReportRecord> pending = new ArrayList<>();
+    private FileOutputStream outputStream;
+    private Writer writer;
+    private ReportRecordWriter recordWriter;
+
+    /**
+     * Constructs a ReportSpool and loads the reports still spooled in the given file.
+     *
+     * @param file the spool file, created when the first report is spooled.
+     */
+    ReportSpool(@NotNull Path file) {
+        this.file = file.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(this.file)) {
+            return;
+        }
+        try (ReportRecordReader reader = ReportFormat.NDJSON.read(this.file)) {
+            ReportRecord record;
+            while ((record = reader.next()) != null) {
+                pending.add(record);
+            }
+        } catch (IOException e) {
+            System.out.println("[Watchdog] Ignoring the damaged end of the report spool: " + e.getMessage());
+            try {
+                // Rewrite the intact reports, so new reports are not appended after the damaged line
+                removeFirst(0);
+            } catch (IOException rewriteException) {
+                System.out.println("[Watchdog] Unable to repair the report spool: " + rewriteException.getMessage());
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("[Watchdog] " + pending.size() + " spooled report(s) are waiting to be submitted.");
+        }
+    }
+
+    /**
+     * Spools a report. The duplicate and rate limit checks of the database are applied to the spooled reports,
+     * as far as possible without the database.
+     *
+     * @param reportQuery the report to spool.
+     * @param maxReports  the maximum number of reports a user may have spooled.
+     * @param maxSize     the maximum number of spooled reports.
+     * @return 202 if the report has been spooled, 409 if it duplicates a spooled report, 403 if the reporter has
+     * reached the rate limit, or -1 if the spool is full or cannot be written.
+     */
+    synchronized int offer(@NotNull ReportQuery reportQuery, int maxReports, int maxSize) {
+        int reporterCount = 0;
+        for (ReportRecord record : pending) {
+            if (record.reporterID().equals(reportQuery.reporterID())) {
+                if (record.userID().equals(reportQuery.userID()) && record.type().equals(reportQuery.type().name())) {
+                    return 409;
+                }
+                reporterCount++;
+            }
+        }
+        if (reporterCount >= maxReports) {
+            return 403;
+        }
+        if (pending.size() >= maxSize) {
+            System.out.println("[Watchdog] The report spool is full, rejecting report.");
+            return -1;
+        }
+
+        ReportRecord record = new ReportRecord(0, reportQuery.userID(), reportQuery.reporterID(), reportQuery.type().name(),
+                reportQuery.description(), System.currentTimeMillis() / 1000);
+        try {
+            if (recordWriter == null) {
+                openForAppend();
+            }
+            recordWriter.write(record);
+            writer.flush();
+            outputStream.getFD().sync();
+        } catch (IOException e) {
+            System.out.println("[Watchdog] Unable to spool report: " + e.getMessage());
+            closeQuietly();
+            return -1;
+        }
+        pending.add(record);
+        return 202;
+    }
+
+    /**
+     * Returns the spooled reports in the order they were spooled.
+     *
+     * @return a copy of the spooled reports.
+     */
+    synchronized List<ReportRecord> pending() {
+        return new ArrayList<>(pending);
+    }
+
+    /**
+     * Returns the number of spooled reports.
+     *
+     * @return the spool depth.
+     */
+    synchronized int depth() {
+        return pending.size();
+    }
+
+    /**
+     * Removes the oldest spooled reports after they have been replayed and rewrites the spool file.
+     * The rewritten file replaces the old one atomically, so a crash never loses the remaining reports.
+     *
+     * @param count the number of reports to remove.
+     * @throws IOException if the spool file cannot be rewritten; the reports stay spooled in that case.
+     */
+    synchronized void removeFirst(int count) throws IOException {
+        List<ReportRecord> remaining = new ArrayList<>(pending.subList(count, pending.size()));
+        closeQuietly();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream temporaryStream = new FileOutputStream(temporary.toFile());
+             Writer temporaryOutput = new OutputStreamWriter(temporaryStream, StandardCharsets.UTF_8)) {
+            ReportRecordWriter temporaryWriter = ReportFormat.NDJSON.writer(temporaryOutput);
+            for (ReportRecord record : remaining) {
+                temporaryWriter.write(record);
+            }
+            temporaryOutput.flush();
+            temporaryStream.getFD().sync();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        pending.clear();
+        pending.addAll(remaining);
+    }
+
+    /**
+     * Closes the spool file. Spooled reports stay on disk and are loaded again on the next start.
+     */
+    synchronized void close() {
+        closeQuietly();
+    }
+
+    private void openForAppend() throws IOException {
+        Path directory = file.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        outputStream = new FileOutputStream(file.toFile(), true);
+        writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        recordWriter = ReportFormat.NDJSON.writer(writer);
+    }
+
+    private void closeQuietly() {
+        if (recordWriter != null) {
+            try {
+                recordWriter.close();
+            } catch (IOException ignored) {
+            }
+        }
+        recordWriter = null;
+        writer = null;
+        outputStream = null;
+    }
+}
@@ -0,0 +1,81 @@
+package dev.siea.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * The StorageMetrics class collects the metrics of the storage layer of a {@link MySQLWrapper}.
+ */
+class StorageMetrics implements StorageMetricsMXBean {
+    private final CircuitBreaker breaker;
+    private final ReportSpool spool;
+    private final IntSupplier cachedUsers;
+    private final LongAdder replayedReports = new LongAdder();
+    private final LongAdder staleLookups = new LongAdder();
+
+    /**
+     * Constructs a StorageMetrics instance.
+     *
+     * @param breaker     the circuit breaker around the database.
+     * @param spool       the report spool.
+     * @param cachedUsers the supplier of the number of cached user summaries.
+     */
+    StorageMetrics(@NotNull CircuitBreaker breaker, @NotNull ReportSpool spool, @NotNull IntSupplier cachedUsers) {
+        this.breaker = breaker;
+        this.spool = spool;
+        this.cachedUsers = cachedUsers;
+    }
+
+    /**
+     * Counts spooled reports that have been submitted to the database.
+     *
+     * @param count the number of reports.
+     */
+    void replayed(int count) {
+        replayedReports.add(count);
+    }
+
+    /**
+     * Counts a lookup answered from the cache.
+     */
+    void staleLookup() {
+        staleLookups.increment();
+    }
+
+    @Override
+    public String getCircuitBreakerState() {
+        return breaker.state().name();
+    }
+
+    @Override
+    public long getCircuitBreakerTrips() {
+        return breaker.tripCount();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return breaker.rejectedCount();
+    }
+
+    @Override
+    public int getSpoolDepth() {
+        return spool.depth();
+    }
+
+    @Override
+    public long getReplayedReports() {
+        return replayedReports.sum();
+    }
+
+    @Override
+    public long getStaleLookups() {
+        return staleLookups.sum();
+    }
+
+    @Override
+    public int getCachedUsers() {
+        return cachedUsers.getAsInt();
+    }
+}
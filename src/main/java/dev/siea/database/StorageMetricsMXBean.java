@@ -0,0 +1,57 @@
+package dev.siea.database;
+
+/**
+ * The StorageMetricsMXBean interface exposes the health of the storage layer over JMX,
+ * registered as "dev.siea.watchdog:type=Storage".
+ */
+public interface StorageMetricsMXBean {
+
+    /**
+     * Returns the state of the database circuit breaker.
+     *
+     * @return "CLOSED", "OPEN" or "HALF_OPEN".
+     */
+    String getCircuitBreakerState();
+
+    /**
+     * Returns how often the circuit breaker has opened since the bot started.
+     *
+     * @return the number of times the breaker opened.
+     */
+    long getCircuitBreakerTrips();
+
+    /**
+     * Returns how many database calls the circuit breaker has rejected since the bot started.
+     *
+     * @return the number of rejected calls.
+     */
+    long getRejectedCalls();
+
+    /**
+     * Returns the number of reports waiting in the spool.
+     *
+     * @return the spool depth.
+     */
+    int getSpoolDepth();
+
+    /**
+     * Returns the number of spooled reports submitted to the database since the bot started.
+     *
+     * @return the number of replayed reports.
+     */
+    long getReplayedReports();
+
+    /**
+     * Returns how many "check" lookups have been answered from the cache since the bot started.
+     *
+     * @return the number of stale lookups.
+     */
+    long getStaleLookups();
+
+    /**
+     * Returns the number of user summaries in the cache.
+     *
+     * @return the cache size.
+     */
+    int getCachedUsers();
+}
@@ -0,0 +1,12 @@
+package dev.siea.database.models;
+
+/**
+ * The ImportResult record summarizes a report import.
+ *
+ * @param read       the number of records read from the input.
+ * @param inserted   the number of reports inserted into the database.
+ * @param duplicates the number of records skipped because the reporter has already reported the user for that reason.
+ * @param invalid    the number of records skipped because they are incomplete or have an unknown report type.
+ */
+public record ImportResult(long read, long inserted, long duplicates, long invalid) {
+}
@@ -0,0 +1,14 @@
+package dev.siea.database.models;
+
+/**
+ * The ReportRecord record represents a complete row of the "reports" table as it is exported and imported.
+ *
+ * @param id          the database identifier of the report.
+ * @param userID      the unique identifier of the user being reported.
+ * @param reporterID  the unique identifier of the user submitting the report.
+ * @param type        the name of the {@link ReportType} of the report.
+ * @param description a detailed description of the report, may be null.
+ * @param reportedAt  the time the report was submitted, in epoch seconds.
+ */
+public record ReportRecord(long id, String userID, String reporterID, String type, String description, long reportedAt) {
+}
@@ -1,12 +1,61 @@
 package dev.siea.database.models;
+import java.time.Instant;
 import java.util.HashMap;
 
 /**
  * The WatchDogUser record represents a user with an ID and a map of report IDs to their corresponding report types.
  *
- * @param id      the unique identifier of the user.
- * @param reports a map where the key is the report ID, and the value is the ReportType, representing the user's reports.
+ * @param id              the unique identifier of the user.
+ * @param reports         a map where the key is the report ID, and the value is the ReportType, representing the user's reports.
+ * @param archivedReports a map of report counts per ReportType for reports that have been moved to the archive.
+ * @param cachedAt        the time the data was read from the database if it is served from the cache while the database
+ *                        is unavailable, or null if it is current.
  */
-public record WatchDogUser (String id, HashMap<String, ReportType> reports) {
+public record WatchDogUser (String id, HashMap<String, ReportType> reports, HashMap<ReportType, Integer> archivedReports, Instant cachedAt) {
 
+    /**
+     * Constructs a WatchDogUser with current data.
+     *
+     * @param id              the unique identifier of the user.
+     * @param reports         a map where the key is the report ID, and the value is the ReportType, representing the user's reports.
+     * @param archivedReports a map of report counts per ReportType for reports that have been moved to the archive.
+     */
+    public WatchDogUser(String id, HashMap<String, ReportType> reports, HashMap<ReportType, Integer> archivedReports) {
+        this(id, reports, archivedReports, null);
+    }
+
+    /**
+     * Returns whether the data may be out of date because it has been served from the cache.
+     *
+     * @return true if the data has been served from the cache.
+     */
+    public boolean isStale() {
+        return cachedAt != null;
+    }
+
+    /**
+     * Counts all reports of the user, including archived ones.
+     *
+     * @return the total number of reports.
+     */
+    public int reportCount() {
+        int count = reports.size();
+        for (int archived : archivedReports.values()) {
+            count += archived;
+        }
+        return count;
+    }
+
+    /**
+     * Counts all reports of the user per ReportType, including archived ones.
+     *
+     * @return a map of report counts per ReportType.
+     */
+    public HashMap<ReportType, Integer> reportCountsByType() {
+        HashMap<ReportType, Integer> counts = new HashMap<>(archivedReports);
+        for (ReportType type : reports.values()) {
+            counts.merge(type, 1, Integer::sum);
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,128 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads ReportRecords from RFC 4180 comma separated values. The first row must be a header naming the columns,
+ * quoted fields may span multiple lines. An unquoted empty field is read as null.
+ */
+class CsvReportReader implements ReportRecordReader {
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long rowNumber = 0;
+
+    /**
+     * Constructs a CsvReportReader and reads the header row.
+     *
+     * @param reader the reader to read from.
+     * @throws IOException if the header is missing or lacks a required column.
+     */
+    CsvReportReader(@NotNull Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<String> header = readRow();
+        if (header == null) {
+            throw new IOException("Missing CSV header");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        for (String column : CsvReportWriter.HEADER) {
+            if (!column.equals("id") && !columns.containsKey(column)) {
+                throw new IOException("Missing CSV column " + column);
+            }
+        }
+    }
+
+    @Override
+    public ReportRecord next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0) == null);
+
+        String id = field(row, "id");
+        String reportedAt = field(row, "reported_at");
+        try {
+            return new ReportRecord(
+                    id == null ? 0 : Long.parseLong(id.trim()),
+                    field(row, "reported_user_id"),
+                    field(row, "reporter_user_id"),
+                    field(row, "report_type_id"),
+                    field(row, "description"),
+                    reportedAt == null ? -1 : Long.parseLong(reportedAt.trim()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number in CSV row " + rowNumber);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> row, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= row.size() ? null : row.get(index);
+    }
+
+    /**
+     * Reads a single row, which may span several lines if a quoted field contains line breaks.
+     *
+     * @return the fields of the row, or null at the end of the input.
+     */
+    private List<String> readRow() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        rowNumber++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in CSV row " + rowNumber);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',' || c == '\n' || c == -1) {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+                if (c != ',') {
+                    return fields;
+                }
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes ReportRecords as RFC 4180 comma separated values, preceded by a header row.
+ */
+class CsvReportWriter implements ReportRecordWriter {
+    static final String[] HEADER = {"id", "reported_user_id", "reporter_user_id", "report_type_id", "description", "reported_at"};
+
+    private final Writer writer;
+
+    /**
+     * Constructs a CsvReportWriter and writes the header row.
+     *
+     * @param writer the writer to write to.
+     * @throws IOException if the header cannot be written.
+     */
+    CsvReportWriter(@NotNull Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(String.join(",", HEADER) + "\r\n");
+    }
+
+    @Override
+    public void write(@NotNull ReportRecord record) throws IOException {
+        writer.write(record.id() + "," +
+                quote(record.userID()) + "," +
+                quote(record.reporterID()) + "," +
+                quote(record.type()) + "," +
+                quote(record.description()) + "," +
+                record.reportedAt() + "\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
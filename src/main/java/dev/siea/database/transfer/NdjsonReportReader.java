@@ -0,0 +1,189 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads ReportRecords from newline delimited JSON objects. Only flat objects with string, number and null values
+ * are supported, which is everything the {@link NdjsonReportWriter} produces.
+ */
+class NdjsonReportReader implements ReportRecordReader {
+    private final BufferedReader reader;
+    private long lineNumber = 0;
+    private String line;
+    private int position;
+
+    /**
+     * Constructs an NdjsonReportReader.
+     *
+     * @param reader the reader to read from.
+     */
+    NdjsonReportReader(@NotNull Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public ReportRecord next() throws IOException {
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        position = 0;
+        Map<String, String> values = parseObject();
+        return new ReportRecord(
+                parseLong(values.get("id"), 0),
+                values.get("reported_user_id"),
+                values.get("reporter_user_id"),
+                values.get("report_type_id"),
+                values.get("description"),
+                parseLong(values.get("reported_at"), -1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, String> parseObject() throws IOException {
+        Map<String, String> values = new HashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return values;
+        }
+        while (true) {
+            skipWhitespace();
+            String key = parseString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            values.put(key, parseValue());
+            skipWhitespace();
+            char c = nextChar();
+            if (c == '}') {
+                return values;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private String parseValue() throws IOException {
+        char c = peek();
+        if (c == '"') {
+            return parseString();
+        }
+        int start = position;
+        while (position < line.length() && ",} \t".indexOf(line.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = line.substring(start, position);
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (literal.isEmpty()) {
+            throw error("Expected a value");
+        }
+        return literal;
+    }
+
+    private String parseString() throws IOException {
+        expect('"');
+        StringBuilder builder = new StringBuilder();
+        while (true) {
+            char c = nextChar();
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            char escaped = nextChar();
+            switch (escaped) {
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'u':
+                    int codeUnit = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = position < line.length() ? Character.digit(line.charAt(position), 16) : -1;
+                        if (digit < 0) {
+                            throw error("Invalid unicode escape");
+                        }
+                        codeUnit = codeUnit * 16 + digit;
+                        position++;
+                    }
+                    builder.append((char) codeUnit);
+                    break;
+                default:
+                    builder.append(escaped);
+                    break;
+            }
+        }
+    }
+
+    private long parseLong(String value, long defaultValue) throws IOException {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number " + value);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() throws IOException {
+        if (position >= line.length()) {
+            throw error("Unexpected end of line");
+        }
+        return line.charAt(position);
+    }
+
+    private char nextChar() throws IOException {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextChar() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " on line " + lineNumber);
+    }
+}
@@ -0,0 +1,72 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes ReportRecords as newline delimited JSON objects.
+ */
+class NdjsonReportWriter implements ReportRecordWriter {
+    private final Writer writer;
+
+    /**
+     * Constructs an NdjsonReportWriter.
+     *
+     * @param writer the writer to write to.
+     */
+    NdjsonReportWriter(@NotNull Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(@NotNull ReportRecord record) throws IOException {
+        writer.write("{\"id\":" + record.id() +
+                ",\"reported_user_id\":" + quote(record.userID()) +
+                ",\"reporter_user_id\":" + quote(record.reporterID()) +
+                ",\"report_type_id\":" + quote(record.type()) +
+                ",\"description\":" + quote(record.description()) +
+                ",\"reported_at\":" + record.reportedAt() + "}\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.siea.database.transfer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The ReportFormat enum represents the file formats reports can be exported to and imported from.
+ * Files whose name ends with ".gz" are transparently gzip compressed.
+ */
+public enum ReportFormat {
+    /**
+     * Newline delimited JSON, one report object per line.
+     */
+    NDJSON {
+        @Override
+        public ReportRecordWriter writer(@NotNull Writer writer) {
+            return new NdjsonReportWriter(writer);
+        }
+
+        @Override
+        public ReportRecordReader reader(@NotNull Reader reader) {
+            return new NdjsonReportReader(reader);
+        }
+    },
+
+    /**
+     * Comma separated values with a header row.
+     */
+    CSV {
+        @Override
+        public ReportRecordWriter writer(@NotNull Writer writer) throws IOException {
+            return new CsvReportWriter(writer);
+        }
+
+        @Override
+        public ReportRecordReader reader(@NotNull Reader reader) throws IOException {
+            return new CsvReportReader(reader);
+        }
+    };
+
+    /**
+     * Creates a ReportRecordWriter writing this format to the given writer.
+     *
+     * @param writer the writer to write to, closed when the ReportRecordWriter is closed.
+     * @return a ReportRecordWriter.
+     * @throws IOException if the writer cannot be prepared.
+     */
+    public abstract ReportRecordWriter writer(@NotNull Writer writer) throws IOException;
+
+    /**
+     * Creates a ReportRecordReader reading this format from the given reader.
+     *
+     * @param reader the reader to read from, closed when the ReportRecordReader is closed.
+     * @return a ReportRecordReader.
+     * @throws IOException if the input cannot be prepared.
+     */
+    public abstract ReportRecordReader reader(@NotNull Reader reader) throws IOException;
+
+    /**
+     * Opens a ReportRecordWriter for the given file, gzip compressing it if the file name ends with ".gz".
+     *
+     * @param file the file to write.
+     * @return a ReportRecordWriter.
+     * @throws IOException if the file cannot be created.
+     */
+    public ReportRecordWriter open(@NotNull Path file) throws IOException {
+        OutputStream outputStream = Files.newOutputStream(file);
+        if (isCompressed(file)) {
+            outputStream = new GZIPOutputStream(outputStream, 65536);
+        }
+        return writer(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Opens a ReportRecordReader for the given file, decompressing it if the file name ends with ".gz".
+     *
+     * @param file the file to read.
+     * @return a ReportRecordReader.
+     * @throws IOException if the file cannot be opened.
+     */
+    public ReportRecordReader read(@NotNull Path file) throws IOException {
+        InputStream inputStream = Files.newInputStream(file);
+        if (isCompressed(file)) {
+            inputStream = new GZIPInputStream(inputStream, 65536);
+        }
+        return reader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Determines the format from a file name, ignoring a trailing ".gz". Files ending with ".csv" are CSV,
+     * everything else is NDJSON.
+     *
+     * @param fileName the file name.
+     * @return the format of the file.
+     */
+    public static ReportFormat fromFileName(@NotNull String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".csv") ? CSV : NDJSON;
+    }
+
+    private static boolean isCompressed(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".gz");
+    }
+}
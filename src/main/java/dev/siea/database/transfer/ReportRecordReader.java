@@ -0,0 +1,20 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads ReportRecords from an input one at a time, so imports never hold more than one record in memory.
+ */
+public interface ReportRecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null if the end of the input has been reached.
+     * @throws IOException if the input cannot be read or is malformed.
+     */
+    ReportRecord next() throws IOException;
+}
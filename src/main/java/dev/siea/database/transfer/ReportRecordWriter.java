@@ -0,0 +1,21 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes ReportRecords to an output one at a time, so exports never hold more than one record in memory.
+ */
+public interface ReportRecordWriter extends Closeable {
+
+    /**
+     * Writes a single record.
+     *
+     * @param record the record to write.
+     * @throws IOException if the record cannot be written.
+     */
+    void write(@NotNull ReportRecord record) throws IOException;
+}
@@ -0,0 +1,93 @@
+package dev.siea.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests reloading the configuration with the {@link ConfigWatcher}.
+ */
+class ConfigWatcherTest {
+    @TempDir
+    Path directory;
+    private Path file;
+    private ConfigWatcher watcher;
+    private final List<WatchdogConfig[]> changes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("config.yml");
+        write("token", 5, 10);
+        watcher = new ConfigWatcher(file);
+        watcher.addListener((previous, current) -> changes.add(new WatchdogConfig[]{previous, current}));
+    }
+
+    @Test
+    void appliesAndAnnouncesAChangedFile() throws IOException {
+        WatchdogConfig previous = watcher.get();
+        write("token", 3, 10);
+
+        assertTrue(watcher.reload());
+        assertEquals(3, watcher.get().rateLimit().maxReports());
+        assertEquals(1, changes.size());
+        assertSame(previous, changes.get(0)[0]);
+        assertSame(watcher.get(), changes.get(0)[1]);
+    }
+
+    @Test
+    void ignoresAnUnchangedFile() throws IOException {
+        write("token", 5, 10);
+
+        assertFalse(watcher.reload());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void keepsThePreviousSnapshotIfTheFileIsInvalid() throws IOException {
+        WatchdogConfig previous = watcher.get();
+
+        write("token", 5, 20);
+        assertFalse(watcher.reload());
+        write(" ", 5, 10);
+        assertFalse(watcher.reload());
+
+        assertSame(previous, watcher.get());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void keepsThePreviousSnapshotWhileTheFileIsMissing() throws IOException {
+        WatchdogConfig previous = watcher.get();
+        Files.delete(file);
+
+        assertFalse(watcher.reload());
+        assertFalse(Files.exists(file));
+        assertSame(previous, watcher.get());
+        assertTrue(changes.isEmpty());
+    }
+
+    private void write(String token, int maxReports, int minimumIdle) throws IOException {
+        Files.writeString(file, String.join("\n",
+                "token: \"" + token + "\"",
+                "sql:",
+                "  ip: localhost",
+                "  name: watchdog",
+                "  user: watchdog",
+                "  password: \"\"",
+                "pool:",
+                "  maximum-pool-size: 10",
+                "  minimum-idle: " + minimumIdle,
+                "rate-limit:",
+                "  max-reports: " + maxReports,
+                ""), StandardCharsets.UTF_8);
+    }
+}
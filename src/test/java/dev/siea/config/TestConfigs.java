@@ -0,0 +1,43 @@
+package dev.siea.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.simpleyaml.configuration.file.YamlConfiguration;
+
+import java.util.Map;
+
+/**
+ * The TestConfigs class builds {@link WatchdogConfig} snapshots for tests through {@link WatchdogConfig#load}, so a test
+ * only states the settings it depends on and every other setting takes its default.
+ */
+public class TestConfigs {
+
+    private TestConfigs() {
+    }
+
+    /**
+     * Creates an in-memory configuration holding only the settings that have no default.
+     *
+     * @return a new configuration with the token and the sql section set.
+     */
+    public static YamlConfiguration section() {
+        YamlConfiguration section = new YamlConfiguration();
+        section.set("token", "test-token");
+        section.set("sql.ip", "localhost");
+        section.set("sql.name", "watchdog");
+        section.set("sql.user", "watchdog");
+        return section;
+    }
+
+    /**
+     * Loads a configuration snapshot with the given settings on top of {@link #section()}.
+     *
+     * @param settings the settings by path, e.g. "rate-limit.max-reports".
+     * @return the loaded snapshot.
+     * @throws IllegalArgumentException if the settings are invalid.
+     */
+    public static WatchdogConfig create(@NotNull Map<String, Object> settings) {
+        YamlConfiguration section = section();
+        settings.forEach(section::set);
+        return WatchdogConfig.load(section);
+    }
+}
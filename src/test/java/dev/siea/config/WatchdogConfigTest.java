@@ -0,0 +1,80 @@
+package dev.siea.config;
+
+import org.junit.jupiter.api.Test;
+import org.simpleyaml.configuration.file.YamlConfiguration;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the validation of {@link WatchdogConfig#load}.
+ */
+class WatchdogConfigTest {
+
+    @Test
+    void appliesDefaultsToOptionalSettings() {
+        WatchdogConfig config = TestConfigs.create(Map.of());
+        assertEquals("test-token", config.token());
+        assertEquals(new WatchdogConfig.SqlSettings("localhost", "watchdog", "watchdog", ""), config.sql());
+        assertEquals(new WatchdogConfig.PoolSettings(10, 10, 30000), config.pool());
+        assertEquals(new WatchdogConfig.RateLimitSettings(5, 24), config.rateLimit());
+        assertEquals(new WatchdogConfig.CircuitBreakerSettings(20, 10, 50, 2000, 80, 30), config.breaker());
+        assertFalse(config.retention().enabled());
+        assertFalse(config.replica().enabled());
+        assertTrue(config.admins().isEmpty());
+    }
+
+    @Test
+    void rejectsMissingAndBlankRequiredSettings() {
+        YamlConfiguration section = TestConfigs.section();
+        section.set("token", "  ");
+        section.set("sql.ip", null);
+        section.set("sql.user", "");
+
+        String message = assertThrows(IllegalArgumentException.class, () -> WatchdogConfig.load(section)).getMessage();
+        assertTrue(message.contains("token is missing"), message);
+        assertTrue(message.contains("sql.ip is missing"), message);
+        assertTrue(message.contains("sql.user is missing"), message);
+        assertFalse(message.contains("sql.name"), message);
+    }
+
+    @Test
+    void rejectsValuesThatAreNotWholeNumbers() {
+        String message = invalid(Map.of(
+                "pool.maximum-pool-size", "ten",
+                "rate-limit.max-reports", 2.5));
+        assertTrue(message.contains("pool.maximum-pool-size must be a whole number"), message);
+        assertTrue(message.contains("rate-limit.max-reports must be a whole number"), message);
+    }
+
+    @Test
+    void rejectsValuesOutOfRange() {
+        String message = invalid(Map.of(
+                "rate-limit.window-hours", 0,
+                "pool.connection-timeout-ms", 100,
+                "circuit-breaker.failure-rate-percent", 101));
+        assertTrue(message.contains("rate-limit.window-hours must be at least 1"), message);
+        assertTrue(message.contains("pool.connection-timeout-ms must be at least 250"), message);
+        assertTrue(message.contains("circuit-breaker.failure-rate-percent must be at most 100"), message);
+    }
+
+    @Test
+    void rejectsMinimumIdleAboveMaximumPoolSize() {
+        String message = invalid(Map.of("pool.maximum-pool-size", 5, "pool.minimum-idle", 6));
+        assertTrue(message.contains("pool.minimum-idle must not be greater than pool.maximum-pool-size"), message);
+        assertEquals(5, TestConfigs.create(Map.of("pool.maximum-pool-size", 5, "pool.minimum-idle", 5)).pool().minimumIdle());
+    }
+
+    @Test
+    void requiresTheAddressOfAnEnabledReplica() {
+        assertTrue(invalid(Map.of("replica.enabled", true, "replica.ip", " ")).contains("replica.ip is missing"));
+
+        WatchdogConfig config = TestConfigs.create(Map.of("replica.enabled", true, "replica.ip", "localhost:3307", "replica.user", ""));
+        assertEquals(new WatchdogConfig.SqlSettings("localhost:3307", "watchdog", "watchdog", ""), config.replica().sql());
+    }
+
+    private static String invalid(Map<String, Object> settings) {
+        return assertThrows(IllegalArgumentException.class, () -> TestConfigs.create(settings)).getMessage();
+    }
+}
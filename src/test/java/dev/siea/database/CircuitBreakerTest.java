@@ -0,0 +1,133 @@
+package dev.siea.database;
+
+import dev.siea.config.TestConfigs;
+import dev.siea.config.WatchdogConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the state transitions of the {@link CircuitBreaker}.
+ */
+class CircuitBreakerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final WatchdogConfig config = TestConfigs.create(Map.of(
+            "circuit-breaker.window-size", 4,
+            "circuit-breaker.minimum-calls", 4,
+            "circuit-breaker.failure-rate-percent", 50,
+            "circuit-breaker.slow-call-ms", 100,
+            "circuit-breaker.slow-call-rate-percent", 75,
+            "circuit-breaker.open-seconds", 1));
+    private final CircuitBreaker breaker = new CircuitBreaker(() -> config);
+
+    @Test
+    void staysClosedUntilTheMinimumNumberOfCalls() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            breaker.record(breaker.acquire(), FAST, true);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void opensWhenTheFailureRateIsReached() throws Exception {
+        breaker.record(breaker.acquire(), FAST, false);
+        breaker.record(breaker.acquire(), FAST, false);
+        breaker.record(breaker.acquire(), FAST, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.record(breaker.acquire(), FAST, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(1, breaker.tripCount());
+        assertThrows(CircuitBreaker.OpenException.class, breaker::acquire);
+        assertEquals(1, breaker.rejectedCount());
+    }
+
+    @Test
+    void opensWhenTooManyCallsAreSlow() throws Exception {
+        breaker.record(breaker.acquire(), FAST, false);
+        for (int i = 0; i < 3; i++) {
+            breaker.record(breaker.acquire(), SLOW, false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void evaluatesOnlyTheMostRecentCalls() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            breaker.record(breaker.acquire(), FAST, false);
+        }
+        breaker.record(breaker.acquire(), FAST, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // 2 of the last 4 calls failed, although only 2 of all 10 did
+        breaker.record(breaker.acquire(), FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void closesAfterASuccessfulTrialCall() throws Exception {
+        trip();
+        awaitOpenTime();
+
+        CircuitBreaker.Permit trial = breaker.acquire();
+        assertTrue(trial.trial());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertThrows(CircuitBreaker.OpenException.class, breaker::acquire);
+
+        breaker.record(trial, FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertFalse(breaker.acquire().trial());
+    }
+
+    @Test
+    void opensAgainAfterAFailedOrSlowTrialCall() throws Exception {
+        trip();
+        awaitOpenTime();
+        breaker.record(breaker.acquire(), FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(2, breaker.tripCount());
+
+        awaitOpenTime();
+        breaker.record(breaker.acquire(), SLOW, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(3, breaker.tripCount());
+    }
+
+    @Test
+    void ignoresCallsAdmittedBeforeTheBreakerOpened() throws Exception {
+        CircuitBreaker.Permit late = breaker.acquire();
+        trip();
+        awaitOpenTime();
+        CircuitBreaker.Permit trial = breaker.acquire();
+
+        // A call admitted while closed finishes during the trial, it must neither decide nor end the trial
+        breaker.record(late, FAST, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertThrows(CircuitBreaker.OpenException.class, breaker::acquire);
+
+        breaker.record(trial, FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // Nor does it count towards the window of the closed breaker
+        for (int i = 0; i < 4; i++) {
+            breaker.record(late, FAST, true);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private void trip() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            breaker.record(breaker.acquire(), FAST, true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private static void awaitOpenTime() throws InterruptedException {
+        Thread.sleep(1100);
+    }
+}
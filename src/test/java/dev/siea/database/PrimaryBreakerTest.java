@@ -0,0 +1,98 @@
+package dev.siea.database;
+
+import dev.siea.config.TestConfigs;
+import dev.siea.config.WatchdogConfig;
+import dev.siea.database.models.ReportQuery;
+import dev.siea.database.models.ReportType;
+import dev.siea.database.models.WatchDogUser;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the circuit breaker of a {@link MySQLWrapper} only guards the primary, using an H2 server as the primary
+ * that can be stopped and an embedded H2 database as the read replica.
+ */
+class PrimaryBreakerTest {
+    private static final String REPLICA_URL = "jdbc:h2:mem:breaker-replica;MODE=MySQL";
+
+    @TempDir
+    Path directory;
+    private Server primary;
+    private MySQLWrapper replicaWrapper;
+    private MySQLWrapper databaseWrapper;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+
+        // Keeps the replica database open and fills it with a report the primary does not have
+        replicaWrapper = new MySQLWrapper(REPLICA_URL, "sa", "", () -> config("replica.ndjson"));
+        assertEquals(200, replicaWrapper.submitReport(new ReportQuery("1", "10", ReportType.SCAMMING, null)));
+
+        WatchdogConfig config = config("reports.ndjson");
+        databaseWrapper = new MySQLWrapper("jdbc:h2:tcp://localhost:" + primary.getPort() + "/mem:breaker-primary;MODE=MySQL",
+                "sa", "", () -> config);
+        databaseWrapper.connectReplica(REPLICA_URL, "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseWrapper.shutdown();
+        replicaWrapper.shutdown();
+        primary.stop();
+    }
+
+    @Test
+    void opensForTheFailingPrimaryWhileTheReplicaServesReads() throws InterruptedException {
+        awaitReplica();
+        primary.stop();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(202, databaseWrapper.submitReport(new ReportQuery("2", "2" + i, ReportType.SCAMMING, null)));
+            assertFresh(databaseWrapper.getWatchdogUser("1"));
+        }
+        assertEquals("OPEN", databaseWrapper.metrics().getCircuitBreakerState());
+
+        // The open breaker must not cut off the replica
+        assertFresh(databaseWrapper.getWatchdogUser("1"));
+        assertEquals(0, databaseWrapper.metrics().getStaleLookups());
+    }
+
+    private void awaitReplica() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            WatchDogUser user = databaseWrapper.getWatchdogUser("1");
+            if (user != null && user.reports().size() == 1) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("The read replica did not become healthy");
+    }
+
+    private static void assertFresh(WatchDogUser user) {
+        assertNotNull(user);
+        assertFalse(user.isStale());
+        assertEquals(1, user.reports().size());
+    }
+
+    private WatchdogConfig config(String spoolFile) {
+        return TestConfigs.create(Map.of(
+                "pool.maximum-pool-size", 2,
+                "pool.minimum-idle", 0,
+                "pool.connection-timeout-ms", 250,
+                "replica.health-check-seconds", 1,
+                "replica.check-lag", false,
+                "circuit-breaker.window-size", 4,
+                "circuit-breaker.minimum-calls", 4,
+                "degraded.spool-file", directory.resolve(spoolFile).toString()));
+    }
+}
@@ -0,0 +1,101 @@
+package dev.siea.database;
+
+import dev.siea.config.TestConfigs;
+import dev.siea.config.WatchdogConfig;
+import dev.siea.database.models.ImportResult;
+import dev.siea.database.models.ReportQuery;
+import dev.siea.database.models.ReportRecord;
+import dev.siea.database.models.ReportType;
+import dev.siea.database.transfer.ReportRecordReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the duplicate check of the {@link ReportImporter} against an embedded H2 database.
+ */
+class ReportImporterTest {
+    private static final long REPORTED_AT = 1700000000;
+
+    @TempDir
+    Path directory;
+    private MySQLWrapper databaseWrapper;
+
+    @BeforeEach
+    void setUp() {
+        WatchdogConfig config = TestConfigs.create(Map.of("degraded.spool-file", directory.resolve("reports.ndjson").toString()));
+        databaseWrapper = new MySQLWrapper("jdbc:h2:mem:import;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", () -> config);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = databaseWrapper.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        databaseWrapper.shutdown();
+    }
+
+    @Test
+    void skipsReportsThatWouldBeRejectedAsDuplicates() throws Exception {
+        assertEquals(200, databaseWrapper.submitReport(new ReportQuery("1", "10", ReportType.SCAMMING, null)));
+        try (Connection connection = databaseWrapper.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO reports_archive_keys VALUES ('2', '10', 'SCAMMING')");
+        }
+
+        List<ReportRecord> records = List.of(
+                record("1", "SCAMMING", REPORTED_AT),
+                record("2", "SCAMMING", REPORTED_AT),
+                record("3", "SCAMMING", REPORTED_AT),
+                record("3", "SCAMMING", REPORTED_AT + 60),
+                record("3", "HATE_SPEECH", REPORTED_AT),
+                record("4", "UNKNOWN", REPORTED_AT));
+
+        assertEquals(new ImportResult(6, 2, 3, 1), importReports(records));
+        assertEquals(3, countReports());
+
+        // Importing the same records again, as with a retention archive, adds nothing
+        assertEquals(new ImportResult(6, 0, 5, 1), importReports(records));
+        assertEquals(3, countReports());
+    }
+
+    private ImportResult importReports(List<ReportRecord> records) throws Exception {
+        Iterator<ReportRecord> iterator = records.iterator();
+        return new ReportImporter(databaseWrapper, 2).importReports(new ReportRecordReader() {
+            @Override
+            public ReportRecord next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    private int countReports() throws SQLException {
+        try (Connection connection = databaseWrapper.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM reports")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static ReportRecord record(String userId, String type, long reportedAt) {
+        return new ReportRecord(0, userId, "10", type, "description", reportedAt);
+    }
+}
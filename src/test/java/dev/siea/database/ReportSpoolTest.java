@@ -0,0 +1,114 @@
+package dev.siea.database;
+
+import dev.siea.database.models.ReportQuery;
+import dev.siea.database.models.ReportRecord;
+import dev.siea.database.models.ReportType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the durability and the checks of the {@link ReportSpool}.
+ */
+class ReportSpoolTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsSpooledReportsAcrossRestarts() {
+        Path file = directory.resolve("spool/reports.ndjson");
+        ReportSpool spool = new ReportSpool(file);
+        assertEquals(202, spool.offer(query("1", "10"), 5, 100));
+        assertEquals(202, spool.offer(query("2", "10"), 5, 100));
+        spool.close();
+
+        List<ReportRecord> pending = new ReportSpool(file).pending();
+        assertEquals(List.of("1", "2"), pending.stream().map(ReportRecord::userID).toList());
+        assertEquals("10", pending.get(0).reporterID());
+        assertEquals("SCAMMING", pending.get(0).type());
+    }
+
+    @Test
+    void appliesDuplicateRateLimitAndSizeChecks() {
+        ReportSpool spool = new ReportSpool(directory.resolve("reports.ndjson"));
+        assertEquals(202, spool.offer(query("1", "10"), 2, 3));
+        assertEquals(409, spool.offer(query("1", "10"), 2, 3));
+        assertEquals(202, spool.offer(query("2", "10"), 2, 3));
+        assertEquals(403, spool.offer(query("3", "10"), 2, 3));
+        assertEquals(202, spool.offer(query("1", "11"), 2, 3));
+        assertEquals(-1, spool.offer(query("1", "12"), 2, 3));
+        assertEquals(3, spool.depth());
+        spool.close();
+    }
+
+    @Test
+    void skipsATornLastLine() throws Exception {
+        Path file = directory.resolve("reports.ndjson");
+        ReportSpool spool = new ReportSpool(file);
+        spool.offer(query("1", "10"), 5, 100);
+        spool.offer(query("2", "10"), 5, 100);
+        spool.close();
+        String intact = Files.readString(file, StandardCharsets.UTF_8);
+        Files.writeString(file, intact + "{\"id\":0,\"reported_user_id\":\"3\",\"repor", StandardCharsets.UTF_8);
+
+        spool = new ReportSpool(file);
+        assertEquals(2, spool.depth());
+        assertEquals(intact, Files.readString(file, StandardCharsets.UTF_8));
+
+        // New reports must not be appended to the damaged line
+        assertEquals(202, spool.offer(query("3", "10"), 5, 100));
+        spool.close();
+        assertEquals(List.of("1", "2", "3"), new ReportSpool(file).pending().stream().map(ReportRecord::userID).toList());
+    }
+
+    @Test
+    void removesReportsWhileNewOnesAreSpooled() throws Exception {
+        Path file = directory.resolve("reports.ndjson");
+        ReportSpool spool = new ReportSpool(file);
+        int reports = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < reports; i++) {
+            String reporter = String.valueOf(i);
+            results.add(executor.submit(() -> {
+                start.await();
+                return spool.offer(query("1", reporter), 5, reports);
+            }));
+        }
+
+        List<String> removed = new ArrayList<>();
+        start.countDown();
+        while (removed.size() < reports) {
+            List<ReportRecord> pending = spool.pending();
+            int count = Math.min(pending.size(), 7);
+            spool.removeFirst(count);
+            pending.subList(0, count).forEach(record -> removed.add(record.reporterID()));
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(202, result.get());
+        }
+        executor.shutdown();
+
+        // Every report has been removed exactly once and none is left behind in the file
+        assertEquals(reports, removed.stream().distinct().count());
+        assertEquals(0, spool.depth());
+        spool.close();
+        assertEquals(0, new ReportSpool(file).depth());
+    }
+
+    private static ReportQuery query(String userId, String reporterId) {
+        return new ReportQuery(userId, reporterId, ReportType.SCAMMING, "description");
+    }
+}
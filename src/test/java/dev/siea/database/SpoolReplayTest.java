@@ -0,0 +1,110 @@
+package dev.siea.database;
+
+import dev.siea.config.TestConfigs;
+import dev.siea.config.WatchdogConfig;
+import dev.siea.database.models.ReportQuery;
+import dev.siea.database.models.ReportType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests replaying the report spool of a {@link MySQLWrapper} into an embedded H2 database.
+ */
+class SpoolReplayTest {
+    private static final String URL = "jdbc:h2:mem:replay;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path directory;
+    private WatchdogConfig config;
+    private MySQLWrapper databaseWrapper;
+
+    @BeforeEach
+    void setUp() {
+        config = TestConfigs.create(Map.of(
+                "pool.maximum-pool-size", 2,
+                "pool.minimum-idle", 1,
+                "rate-limit.max-reports", 2,
+                "retention.archive-directory", directory.resolve("archive").toString(),
+                "transfer.directory", directory.toString(),
+                "degraded.spool-file", directory.resolve("reports.ndjson").toString()));
+        databaseWrapper = new MySQLWrapper(URL, "sa", "", () -> config);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = databaseWrapper.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        databaseWrapper.shutdown();
+    }
+
+    @Test
+    void submitsSpooledReportsInOrder() {
+        spool(query("1", "10"), query("2", "10"), query("3", "11"));
+
+        assertEquals(3, databaseWrapper.replaySpool());
+        assertEquals(List.of("1/10", "2/10", "3/11"), reports());
+        assertEquals(0, databaseWrapper.metrics().getSpoolDepth());
+        assertEquals(3, databaseWrapper.metrics().getReplayedReports());
+        assertEquals(0, databaseWrapper.replaySpool());
+    }
+
+    @Test
+    void dropsDuplicatesAndReportsOverTheRateLimit() {
+        assertEquals(200, databaseWrapper.submitReport(query("1", "10")));
+        assertEquals(200, databaseWrapper.submitReport(query("2", "11")));
+        assertEquals(200, databaseWrapper.submitReport(query("3", "11")));
+        spool(query("1", "10"), query("4", "11"), query("5", "12"));
+
+        assertEquals(3, databaseWrapper.replaySpool());
+        assertEquals(List.of("1/10", "2/11", "3/11", "5/12"), reports());
+        assertEquals(0, databaseWrapper.metrics().getSpoolDepth());
+        assertEquals(1, databaseWrapper.metrics().getReplayedReports());
+    }
+
+    /**
+     * Spools the reports as the bot would while the database is unavailable, and restarts the wrapper to load them.
+     */
+    private void spool(ReportQuery... reportQueries) {
+        databaseWrapper.shutdown();
+        ReportSpool spool = new ReportSpool(config.degraded().spoolFile());
+        for (ReportQuery reportQuery : reportQueries) {
+            assertEquals(202, spool.offer(reportQuery, config.rateLimit().maxReports(), config.degraded().spoolMaxSize()));
+        }
+        spool.close();
+        databaseWrapper = new MySQLWrapper(URL, "sa", "", () -> config);
+        assertEquals(reportQueries.length, databaseWrapper.metrics().getSpoolDepth());
+    }
+
+    private List<String> reports() {
+        List<String> reports = new ArrayList<>();
+        try (Connection connection = databaseWrapper.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT reported_user_id, reporter_user_id FROM reports ORDER BY id")) {
+            while (resultSet.next()) {
+                reports.add(resultSet.getString(1) + "/" + resultSet.getString(2));
+            }
+        } catch (SQLException e) {
+            fail(e);
+        }
+        return reports;
+    }
+
+    private static ReportQuery query(String userId, String reporterId) {
+        return new ReportQuery(userId, reporterId, ReportType.SCAMMING, "description");
+    }
+}
@@ -0,0 +1,81 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the CSV parsing of the {@link CsvReportReader}.
+ */
+class CsvReportReaderTest {
+    private static final String HEADER = "id,reported_user_id,reporter_user_id,report_type_id,description,reported_at\r\n";
+
+    @Test
+    void readsQuotedFieldsSpanningLines() throws IOException {
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(HEADER +
+                "7,\"1\",\"2\",\"SCAM\",\"first line\r\nsecond line\",1700000000\r\n"))) {
+            assertEquals(new ReportRecord(7, "1", "2", "SCAM", "first line\r\nsecond line", 1700000000), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void readsEscapedQuotes() throws IOException {
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(HEADER +
+                "1,\"1\",\"2\",\"SCAM\",\"said \"\"hi\"\", then left\",5\r\n"))) {
+            assertEquals("said \"hi\", then left", reader.next().description());
+        }
+    }
+
+    @Test
+    void distinguishesNullFromEmptyDescription() throws IOException {
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(HEADER +
+                "1,\"1\",\"2\",\"SCAM\",,5\r\n" +
+                "2,\"1\",\"3\",\"SCAM\",\"\",5\r\n"))) {
+            assertNull(reader.next().description());
+            assertEquals("", reader.next().description());
+        }
+    }
+
+    @Test
+    void readsWhatTheWriterWrites() throws IOException {
+        ReportRecord record = new ReportRecord(3, "1", "2", "HATE", "a, \"b\"\nc", 42);
+        StringWriter output = new StringWriter();
+        try (CsvReportWriter writer = new CsvReportWriter(output)) {
+            writer.write(record);
+        }
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(output.toString()))) {
+            assertEquals(record, reader.next());
+        }
+    }
+
+    @Test
+    void skipsBlankLinesAndDefaultsMissingColumns() throws IOException {
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(
+                "reported_user_id,reporter_user_id,report_type_id,description,reported_at\n\n\"1\",\"2\",\"SCAM\",x,\n"))) {
+            assertEquals(new ReportRecord(0, "1", "2", "SCAM", "x", -1), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void rejectsMalformedRows() throws IOException {
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(HEADER + "x,\"1\",\"2\",\"SCAM\",,5\r\n"))) {
+            assertThrows(IOException.class, reader::next);
+        }
+        try (CsvReportReader reader = new CsvReportReader(new StringReader(HEADER + "1,\"1\",\"2\",\"SCAM\",\"open,5\r\n"))) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    @Test
+    void rejectsMissingHeaderColumns() {
+        assertThrows(IOException.class, () -> new CsvReportReader(new StringReader("id,reported_user_id\r\n")));
+        assertThrows(IOException.class, () -> new CsvReportReader(new StringReader("")));
+    }
+}
@@ -0,0 +1,71 @@
+package dev.siea.database.transfer;
+
+import dev.siea.database.models.ReportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the JSON parsing of the {@link NdjsonReportReader}.
+ */
+class NdjsonReportReaderTest {
+
+    @Test
+    void readsEscapedNewlinesAndQuotes() throws IOException {
+        try (NdjsonReportReader reader = new NdjsonReportReader(new StringReader(
+                "{\"id\":7,\"reported_user_id\":\"1\",\"reporter_user_id\":\"2\",\"report_type_id\":\"SCAM\"," +
+                        "\"description\":\"said \\\"hi\\\"\\nthen \\u0041\\\\\",\"reported_at\":1700000000}\n"))) {
+            assertEquals(new ReportRecord(7, "1", "2", "SCAM", "said \"hi\"\nthen A\\", 1700000000), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void distinguishesNullFromEmptyDescription() throws IOException {
+        try (NdjsonReportReader reader = new NdjsonReportReader(new StringReader(
+                "{\"reported_user_id\":\"1\",\"reporter_user_id\":\"2\",\"report_type_id\":\"SCAM\",\"description\":null}\n" +
+                        "\n" +
+                        "{ \"reported_user_id\" : \"1\" , \"reporter_user_id\" : \"3\" , \"report_type_id\" : \"SCAM\" , \"description\" : \"\" }\n"))) {
+            ReportRecord first = reader.next();
+            assertNull(first.description());
+            assertEquals(0, first.id());
+            assertEquals(-1, first.reportedAt());
+            assertEquals("", reader.next().description());
+        }
+    }
+
+    @Test
+    void readsWhatTheWriterWrites() throws IOException {
+        ReportRecord record = new ReportRecord(3, "1", "2", "HATE", "tab\there \"quoted\" \\ line\r\nbreak \u0001", 42);
+        StringWriter output = new StringWriter();
+        try (NdjsonReportWriter writer = new NdjsonReportWriter(output)) {
+            writer.write(record);
+        }
+        try (NdjsonReportReader reader = new NdjsonReportReader(new StringReader(output.toString()))) {
+            assertEquals(record, reader.next());
+        }
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        String[] lines = {
+                "{\"id\":7",
+                "{\"id\" 7}",
+                "{\"id\":}",
+                "{\"id\":\"x\"}",
+                "{\"description\":\"unterminated}",
+                "{\"description\":\"\\u12\"}",
+                "{\"description\":\"\\u-001\"}",
+                "{\"description\":\"\\uzzzz\"}",
+                "[1]"
+        };
+        for (String line : lines) {
+            NdjsonReportReader reader = new NdjsonReportReader(new StringReader(line + "\n"));
+            assertThrows(IOException.class, reader::next, line);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package dev.siea.loadtest;
+
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LoadStatistics class collects the latency and outcome of every synthetic interaction of a load test run
+ * and prints a summary with throughput, latency percentiles and an error breakdown.
+ */
+class LoadStatistics {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Records an interaction that has been answered.
+     *
+     * @param command      the name of the command.
+     * @param latencyNanos the time from the scheduled arrival of the interaction until its reply was queued.
+     * @param outcome      a short description of the reply.
+     * @param error        whether the reply reports an error.
+     */
+    void recordReply(String command, long latencyNanos, String outcome, boolean error) {
+        latencies.computeIfAbsent(command, key -> new ConcurrentLinkedQueue<>()).add(latencyNanos);
+        increment(outcomes, command + ": " + outcome);
+        if (error) {
+            increment(errors, command + ": " + outcome);
+        }
+    }
+
+    /**
+     * Records an interaction that failed without a reply.
+     *
+     * @param command the name of the command.
+     * @param reason  a short description of the failure.
+     */
+    void recordFailure(String command, String reason) {
+        increment(outcomes, command + ": " + reason);
+        increment(errors, command + ": " + reason);
+    }
+
+    /**
+     * Returns the total number of recorded interactions.
+     *
+     * @return the number of interactions.
+     */
+    long total() {
+        return sum(outcomes);
+    }
+
+    /**
+     * Returns the number of recorded interactions that failed or replied with an error.
+     *
+     * @return the number of errors.
+     */
+    long errorCount() {
+        return sum(errors);
+    }
+
+    /**
+     * Prints the summary of the run.
+     *
+     * @param out            the stream to print to.
+     * @param elapsedSeconds the measured duration of the run.
+     */
+    void print(PrintStream out, double elapsedSeconds) {
+        out.printf("%-8s %8s %10s %9s %9s %9s %9s %9s%n", "command", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String command : new TreeSet<>(latencies.keySet())) {
+            long[] sorted = latencies.get(command).stream().mapToLong(Long::longValue).sorted().toArray();
+            StringBuilder line = new StringBuilder(String.format("%-8s %8d %10.1f", command, sorted.length, sorted.length / elapsedSeconds));
+            for (double percentile : PERCENTILES) {
+                line.append(String.format(" %9.2f", millis(percentile(sorted, percentile))));
+            }
+            line.append(String.format(" %9.2f", millis(sorted[sorted.length - 1])));
+            out.println(line);
+        }
+
+        out.println();
+        out.println("Outcomes:");
+        printCounts(out, outcomes);
+        out.println();
+        out.println("Errors: " + errorCount() + " of " + total());
+        printCounts(out, errors);
+    }
+
+    private static void printCounts(PrintStream out, Map<String, LongAdder> counts) {
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counts).entrySet()) {
+            out.printf("  %8d  %s%n", entry.getValue().sum(), entry.getKey());
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void increment(Map<String, LongAdder> counts, String key) {
+        counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private static long sum(Map<String, LongAdder> counts) {
+        long sum = 0;
+        for (LongAdder adder : counts.values()) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+}
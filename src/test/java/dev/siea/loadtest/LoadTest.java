@@ -0,0 +1,262 @@
+package dev.siea.loadtest;
+
+import dev.siea.commands.CheckCommand;
+import dev.siea.commands.CommandManager;
+import dev.siea.commands.HelpCommand;
+import dev.siea.commands.ReportCommand;
+import dev.siea.config.TestConfigs;
+import dev.siea.config.WatchdogConfig;
+import dev.siea.database.MySQLWrapper;
+import dev.siea.database.models.ReportType;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The LoadTest class drives {@link CommandManager#onSlashCommandInteraction(SlashCommandInteractionEvent)} with
+ * synthetic "/report", "/check" and "/help" interactions against a local embedded database, without connecting to
+ * Discord. Interactions arrive open loop at a Poisson rate, optionally with periodic raid bursts in which report
+ * traffic against a handful of targets spikes. Latency is measured from the scheduled arrival of an interaction until
+ * its reply is queued, so time spent waiting for a free worker is included.
+ * <p>
+ * The run is configured with system properties, for example:
+ * <pre>
+ * mvn -Ploadtest verify -Dloadtest.rate=500 -Dloadtest.duration=60 -Dloadtest.burst.interval=20
+ * </pre>
+ * <ul>
+ *     <li>loadtest.duration - measured seconds (default 30)</li>
+ *     <li>loadtest.warmup - seconds before measuring starts (default 5)</li>
+ *     <li>loadtest.rate - interactions per second (default 200)</li>
+ *     <li>loadtest.mix - traffic mix as weights (default check=70,report=25,help=5)</li>
+ *     <li>loadtest.users - number of synthetic users (default 5000)</li>
+ *     <li>loadtest.threads - event handler threads and pool size (default 16)</li>
+ *     <li>loadtest.burst.interval - seconds between raid bursts, 0 disables them (default 0)</li>
+ *     <li>loadtest.burst.duration - seconds a raid burst lasts (default 5)</li>
+ *     <li>loadtest.burst.multiplier - rate multiplier during a raid burst (default 10)</li>
+ *     <li>loadtest.burst.mix - traffic mix during a raid burst (default report=80,check=20)</li>
+ *     <li>loadtest.burst.targets - number of users targeted by a raid (default 5)</li>
+ *     <li>loadtest.jdbc.url, loadtest.jdbc.user, loadtest.jdbc.password - database (default in-memory H2 in MySQL mode)</li>
+ *     <li>loadtest.max-error-rate - fails the run if exceeded, counting degraded replies as errors (default 0.01)</li>
+ * </ul>
+ */
+public class LoadTest {
+    private static final Set<String> DEGRADED_TITLES = Set.of("Report Queued", "Check Unavailable");
+    private static final String STALE_FIELD = "Possibly Out of Date";
+
+    private final double rate;
+    private final Map<String, Integer> mix;
+    private final int threads;
+    private final int burstInterval;
+    private final int burstDuration;
+    private final double burstMultiplier;
+    private final Map<String, Integer> burstMix;
+    private final int burstTargets;
+    private final SyntheticInteractions interactions;
+    private final CommandManager commandManager;
+    private final LoadStatistics statistics = new LoadStatistics();
+
+    /**
+     * Constructs a LoadTest from the system properties and registers the commands against the embedded database.
+     *
+     * @param databaseWrapper the MySQLWrapper the commands operate on.
+     * @param config          the configuration of the commands.
+     */
+    public LoadTest(MySQLWrapper databaseWrapper, WatchdogConfig config) {
+        this.rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        this.mix = parseMix(System.getProperty("loadtest.mix", "check=70,report=25,help=5"));
+        this.threads = Integer.getInteger("loadtest.threads", 16);
+        this.burstInterval = Integer.getInteger("loadtest.burst.interval", 0);
+        this.burstDuration = Integer.getInteger("loadtest.burst.duration", 5);
+        this.burstMultiplier = Double.parseDouble(System.getProperty("loadtest.burst.multiplier", "10"));
+        this.burstMix = parseMix(System.getProperty("loadtest.burst.mix", "report=80,check=20"));
+        this.burstTargets = Integer.getInteger("loadtest.burst.targets", 5);
+        this.interactions = new SyntheticInteractions(Integer.getInteger("loadtest.users", 5000));
+
+        this.commandManager = new CommandManager();
+        commandManager.registerCommand(new CheckCommand(databaseWrapper, () -> config));
+        commandManager.registerCommand(new ReportCommand(databaseWrapper, () -> config));
+        commandManager.registerCommand(new HelpCommand());
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param warmupSeconds   the seconds to run before measuring.
+     * @param durationSeconds the seconds to measure.
+     * @return the statistics of the measured part of the run.
+     * @throws InterruptedException if the run is interrupted.
+     */
+    public LoadStatistics run(int warmupSeconds, int durationSeconds) throws InterruptedException {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "LoadTest-Worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long arrival = start;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (arrival < end) {
+            boolean burst = inBurst(arrival - start);
+            double currentRate = burst ? rate * burstMultiplier : rate;
+            arrival += (long) (-Math.log(1.0 - random.nextDouble()) / currentRate * 1_000_000_000L);
+
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            long scheduledAt = arrival;
+            String command = pick(burst ? burstMix : mix, random);
+            SlashCommandInteractionEvent event = createEvent(command, burst, random, scheduledAt, arrival >= measureFrom);
+            workers.execute(() -> dispatch(command, event, scheduledAt >= measureFrom));
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+            System.out.println("[LoadTest] " + workers.getQueue().size() + " interactions still queued after 60 seconds");
+            workers.shutdownNow();
+        }
+        return statistics;
+    }
+
+    private boolean inBurst(long elapsedNanos) {
+        if (burstInterval <= 0) {
+            return false;
+        }
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(elapsedNanos);
+        return elapsedSeconds % burstInterval >= burstInterval - burstDuration;
+    }
+
+    private SlashCommandInteractionEvent createEvent(String command, boolean burst, ThreadLocalRandom random, long scheduledAt, boolean measured) {
+        User caller = interactions.user(random.nextInt(interactions.userCount()));
+        User target = burst
+                ? interactions.user(random.nextInt(Math.min(burstTargets, interactions.userCount())))
+                : interactions.user(random.nextInt(interactions.userCount()));
+
+        switch (command) {
+            case "report":
+                ReportType type = ReportType.values()[random.nextInt(ReportType.values().length)];
+                return interactions.report(caller, target, type, reply -> onReply(command, scheduledAt, measured, reply));
+            case "check":
+                return interactions.check(caller, target, reply -> onReply(command, scheduledAt, measured, reply));
+            default:
+                return interactions.help(caller, reply -> onReply(command, scheduledAt, measured, reply));
+        }
+    }
+
+    private void dispatch(String command, SlashCommandInteractionEvent event, boolean measured) {
+        try {
+            commandManager.onSlashCommandInteraction(event);
+        } catch (RuntimeException e) {
+            if (measured) {
+                statistics.recordFailure(command, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void onReply(String command, long scheduledAt, boolean measured, SyntheticInteractions.Reply reply) {
+        if (!measured) {
+            return;
+        }
+        long latency = System.nanoTime() - scheduledAt;
+        if (reply.embeds().isEmpty()) {
+            statistics.recordReply(command, latency, "empty reply", true);
+            return;
+        }
+        MessageEmbed embed = reply.embeds().get(0);
+        String outcome = embed.getTitle();
+        if ("Report Failed".equals(outcome)) {
+            outcome += " - " + embed.getDescription();
+        }
+        // Spooled reports and answers without or from stale data mean the database did not keep up
+        boolean stale = embed.getFields().stream().anyMatch(field -> STALE_FIELD.equals(field.getName()));
+        if (stale) {
+            outcome += " (possibly out of date)";
+        }
+        boolean degraded = stale || DEGRADED_TITLES.contains(embed.getTitle());
+        boolean error = degraded || (embed.getDescription() != null && embed.getDescription().contains("unexpected error"));
+        statistics.recordReply(command, latency, outcome, error);
+    }
+
+    private static String pick(Map<String, Integer> weights, ThreadLocalRandom random) {
+        int total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty traffic mix");
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2 || !Set.of("report", "check", "help").contains(entry[0].trim())) {
+                throw new IllegalArgumentException("Invalid traffic mix entry: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                weights.put(entry[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix has no positive weights: " + mix);
+        }
+        return weights;
+    }
+
+    /**
+     * Runs a load test configured by system properties and prints its statistics.
+     *
+     * @param args command-line arguments (not used).
+     * @throws Exception if the run fails or the error rate exceeds loadtest.max-error-rate.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        int warmup = Integer.getInteger("loadtest.warmup", 5);
+        int duration = Integer.getInteger("loadtest.duration", 30);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+        WatchdogConfig config = TestConfigs.create(Map.of(
+                "pool.maximum-pool-size", threads,
+                "pool.minimum-idle", threads,
+                "retention.archive-directory", "./target/loadtest-archive",
+                "transfer.directory", "./target",
+                "degraded.spool-file", "./target/loadtest-spool.ndjson"));
+        MySQLWrapper databaseWrapper = new MySQLWrapper(
+                System.getProperty("loadtest.jdbc.url", "jdbc:h2:mem:watchdog;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                System.getProperty("loadtest.jdbc.user", "sa"),
+                System.getProperty("loadtest.jdbc.password", ""),
+                () -> config);
+
+        try {
+            LoadTest loadTest = new LoadTest(databaseWrapper, config);
+            System.out.println("[LoadTest] Running " + warmup + "s warmup and " + duration + "s measurement at " + loadTest.rate + " interactions/s");
+            LoadStatistics statistics = loadTest.run(warmup, duration);
+            statistics.print(System.out, duration);
+
+            double errorRate = statistics.total() == 0 ? 0 : (double) statistics.errorCount() / statistics.total();
+            if (errorRate > maxErrorRate) {
+                throw new IllegalStateException(String.format("Error rate %.4f exceeds loadtest.max-error-rate %.4f", errorRate, maxErrorRate));
+            }
+        } finally {
+            databaseWrapper.shutdown();
+        }
+    }
+}
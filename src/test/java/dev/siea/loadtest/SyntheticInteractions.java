@@ -0,0 +1,262 @@
+package dev.siea.loadtest;
+
+import dev.siea.database.models.ReportType;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The SyntheticInteractions class creates {@link SlashCommandInteractionEvent}s without a Discord connection.
+ * The interaction, its users and its reply action are JDK proxies; replies are handed to a callback when they are
+ * queued instead of being sent to Discord.
+ */
+class SyntheticInteractions {
+    private static final long FIRST_USER_ID = 100000000000000000L;
+
+    private final List<User> users = new ArrayList<>();
+    private final AtomicLong responseNumber = new AtomicLong();
+
+    /**
+     * The Reply record represents a reply a command queued in response to a synthetic interaction.
+     *
+     * @param embeds    the embeds of the reply.
+     * @param ephemeral whether the reply was ephemeral.
+     */
+    record Reply(List<MessageEmbed> embeds, boolean ephemeral) {
+    }
+
+    /**
+     * Constructs a SyntheticInteractions instance with a fixed population of synthetic users.
+     *
+     * @param userCount the number of synthetic users.
+     */
+    SyntheticInteractions(int userCount) {
+        for (int i = 0; i < userCount; i++) {
+            users.add(createUser(FIRST_USER_ID + i));
+        }
+    }
+
+    /**
+     * Returns a synthetic user. The same index always returns the same instance.
+     *
+     * @param index the index of the user.
+     * @return the user.
+     */
+    User user(int index) {
+        return users.get(index);
+    }
+
+    /**
+     * Returns the number of synthetic users.
+     *
+     * @return the number of users.
+     */
+    int userCount() {
+        return users.size();
+    }
+
+    /**
+     * Creates a "/report" interaction.
+     *
+     * @param reporter the user submitting the report.
+     * @param target   the reported user.
+     * @param type     the report type.
+     * @param onReply  called when the command queues its reply.
+     * @return the event.
+     */
+    SlashCommandInteractionEvent report(User reporter, User target, ReportType type, Consumer<Reply> onReply) {
+        return event("report", reporter, List.of(userOption(target), stringOption("report_type", type.name())), onReply);
+    }
+
+    /**
+     * Creates a "/check" interaction.
+     *
+     * @param caller  the user running the command.
+     * @param target  the checked user.
+     * @param onReply called when the command queues its reply.
+     * @return the event.
+     */
+    SlashCommandInteractionEvent check(User caller, User target, Consumer<Reply> onReply) {
+        return event("check", caller, List.of(userOption(target)), onReply);
+    }
+
+    /**
+     * Creates a "/help" interaction.
+     *
+     * @param caller  the user running the command.
+     * @param onReply called when the command queues its reply.
+     * @return the event.
+     */
+    SlashCommandInteractionEvent help(User caller, Consumer<Reply> onReply) {
+        return event("help", caller, List.of(), onReply);
+    }
+
+    private SlashCommandInteractionEvent event(String name, User caller, List<OptionMapping> options, Consumer<Reply> onReply) {
+        long id = TimeUtil.getDiscordTimestamp(System.currentTimeMillis());
+        Map<String, Answer> answers = new HashMap<>();
+        answers.put("getName", args -> name);
+        answers.put("getFullCommandName", args -> name);
+        answers.put("getOptions", args -> options);
+        answers.put("getUser", args -> caller);
+        answers.put("getIdLong", args -> id);
+        answers.put("getCommandType", args -> Command.Type.SLASH);
+        answers.put("getTypeRaw", args -> 2);
+        answers.put("getToken", args -> "synthetic");
+        answers.put("deferReply", args -> replyAction(onReply));
+
+        SlashCommandInteraction interaction = proxy(SlashCommandInteraction.class, answers);
+        return new SlashCommandInteractionEvent(null, responseNumber.incrementAndGet(), interaction);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReplyCallbackAction replyAction(Consumer<Reply> onReply) {
+        List<MessageEmbed> embeds = new ArrayList<>();
+        boolean[] ephemeral = {false};
+        Map<String, Answer> answers = new HashMap<>();
+        Answer addEmbeds = args -> {
+            if (args[0] instanceof Collection) {
+                embeds.addAll((Collection<? extends MessageEmbed>) args[0]);
+            } else {
+                embeds.addAll(Arrays.asList((MessageEmbed[]) args[0]));
+            }
+            return SELF;
+        };
+        answers.put("addEmbeds", addEmbeds);
+        answers.put("setEmbeds", args -> {
+            embeds.clear();
+            return addEmbeds.answer(args);
+        });
+        answers.put("setEphemeral", args -> {
+            ephemeral[0] = (boolean) args[0];
+            return SELF;
+        });
+        answers.put("queue", args -> {
+            onReply.accept(new Reply(List.copyOf(embeds), ephemeral[0]));
+            if (args != null && args.length > 0 && args[0] != null) {
+                ((Consumer<Object>) args[0]).accept(null);
+            }
+            return null;
+        });
+        return proxy(ReplyCallbackAction.class, answers);
+    }
+
+    private static User createUser(long id) {
+        Map<String, Answer> answers = new HashMap<>();
+        answers.put("getIdLong", args -> id);
+        answers.put("getName", args -> "user" + id);
+        answers.put("getGlobalName", args -> null);
+        answers.put("getDiscriminator", args -> "0000");
+        answers.put("getAsTag", args -> "user" + id + "#0000");
+        answers.put("getAsMention", args -> "<@" + id + ">");
+        answers.put("getAvatarId", args -> null);
+        answers.put("getDefaultAvatarId", args -> "0");
+        return proxy(User.class, answers);
+    }
+
+    private static OptionMapping userOption(User user) {
+        TLongObjectMap<Object> resolved = new TLongObjectHashMap<>();
+        resolved.put(user.getIdLong(), user);
+        DataObject data = DataObject.empty()
+                .put("type", OptionType.USER.getKey())
+                .put("name", "user")
+                .put("value", user.getId());
+        return new OptionMapping(data, resolved, null, null);
+    }
+
+    private static OptionMapping stringOption(String name, String value) {
+        DataObject data = DataObject.empty()
+                .put("type", OptionType.STRING.getKey())
+                .put("name", name)
+                .put("value", value);
+        return new OptionMapping(data, new TLongObjectHashMap<>(), null, null);
+    }
+
+    /**
+     * Answers a proxied method call. Returning {@link #SELF} returns the proxy itself, for fluent builder methods.
+     */
+    private interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    private static final Object SELF = new Object();
+
+    /**
+     * Creates a proxy of the given interface. Methods with an answer are answered, other default methods run their
+     * default implementation, and remaining abstract methods return the proxy itself if it fits the return type,
+     * or the zero value of the return type otherwise.
+     */
+    private static <T> T proxy(Class<T> type, Map<String, Answer> answers) {
+        InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Answer answer = answers.get(method.getName());
+                if (answer != null) {
+                    Object result = answer.answer(args);
+                    return result == SELF ? proxy : result;
+                }
+                if (method.isDefault()) {
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+                }
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return type.getSimpleName() + "@synthetic";
+                    default:
+                        return zeroValue(proxy, method.getReturnType());
+                }
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object zeroValue(@NotNull Object proxy, Class<?> returnType) {
+        if (returnType.isInstance(proxy)) {
+            return proxy;
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == double.class) {
+            return 0.0;
+        }
+        if (returnType == float.class) {
+            return 0.0f;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        if (returnType == char.class) {
+            return (char) 0;
+        }
+        return null;
+    }
+}